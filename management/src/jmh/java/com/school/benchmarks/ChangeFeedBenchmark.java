@@ -0,0 +1,98 @@
+package com.school.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.school.management.constants.Constants;
+import com.school.management.dto.ChangeFeed;
+import com.school.management.dto.PageResult;
+import com.school.management.dto.StudentDTO;
+import com.school.management.dto.TotalMode;
+import com.school.management.models.Student;
+import com.school.management.repositories.ChangeLogRepository;
+import com.school.management.services.ChangeLog;
+import com.school.management.services.StudentsServiceImpl;
+
+/**
+ * A downstream copy catching up after {@code changed} students were updated, once by
+ * re-reading every page of {@code GET /students} and once by pulling
+ * {@code GET /changes} since its last sequence.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ChangeFeedBenchmark {
+
+    @Param({ "10", "1000" })
+    private int changed;
+
+    private SeededApplication application;
+
+    private StudentsServiceImpl studentsService;
+
+    private ChangeLog changeLog;
+
+    private long since;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        application = new SeededApplication();
+        studentsService = application.bean(StudentsServiceImpl.class);
+        changeLog = application.bean(ChangeLog.class);
+        since = application.bean(ChangeLogRepository.class).nextSequence();
+
+        List<Student> students = application.students().subList(0, changed);
+        for (Student student : students) {
+            Student update = new Student();
+            update.setId(student.getId());
+            update.setName(student.getName() + " Jr.");
+            update.setAge(student.getAge());
+            update.setGroup(student.getGroup());
+            studentsService.update(update);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        application.close();
+    }
+
+    @Benchmark
+    public void fullListing(Blackhole blackhole) {
+        PageResult<StudentDTO> page;
+        int pageNumber = 0;
+        do {
+            page = studentsService.getAll(null, null, Constants.MAX_PAGE_SIZE, pageNumber++, TotalMode.NONE);
+            blackhole.consume(page);
+        } while (page.getHasNext());
+    }
+
+    @Benchmark
+    public void changesSince(Blackhole blackhole) {
+        ChangeFeed feed;
+        long next = since;
+        do {
+            feed = changeLog.since(next, null);
+            next = feed.next();
+            blackhole.consume(feed);
+        } while (feed.hasMore());
+    }
+}
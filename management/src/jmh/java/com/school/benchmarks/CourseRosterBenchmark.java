@@ -0,0 +1,75 @@
+package com.school.benchmarks;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.school.management.dto.PageResult;
+import com.school.management.dto.TotalMode;
+import com.school.management.models.Student;
+import com.school.management.services.CoursesServiceImpl;
+
+/**
+ * {@code GET /courses/{id}/students}: the first page of {@link CoursesServiceImpl#getStudents}
+ * with each combination of the {@code StudentSpecifications} group and age filters.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class CourseRosterBenchmark {
+
+    static final int PAGE_SIZE = 100;
+
+    @Param({ "none", "group", "minAge", "group+minAge" })
+    private String filter;
+
+    private SeededApplication application;
+
+    private CoursesServiceImpl coursesService;
+
+    private List<UUID> courseIds;
+
+    private String group;
+
+    private Integer minAge;
+
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        application = new SeededApplication();
+        coursesService = application.bean(CoursesServiceImpl.class);
+        courseIds = application.courses().stream().map(course -> course.getId()).toList();
+
+        group = filter.contains("group") ? SeededApplication.group(0) : null;
+        minAge = filter.contains("minAge") ? 24 : null;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        application.close();
+    }
+
+    @Benchmark
+    public PageResult<Student> getStudents() {
+        next = (next + 1) % courseIds.size();
+        return coursesService.getStudents(courseIds.get(next), group, minAge, PAGE_SIZE, 0, null, TotalMode.EXACT);
+    }
+}
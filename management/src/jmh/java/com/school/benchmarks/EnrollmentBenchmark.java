@@ -0,0 +1,77 @@
+package com.school.benchmarks;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.school.management.models.Course;
+import com.school.management.models.Student;
+import com.school.management.repositories.CoursesRepository;
+import com.school.management.services.CoursesServiceImpl;
+
+/**
+ * Enrolls a batch of students in an empty course and deregisters them again, so
+ * every invocation starts from the same state. Deregistration runs inside a
+ * transaction the way the open-session-in-view request would.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class EnrollmentBenchmark {
+
+    @Param({ "10", "100", "1000" })
+    private int batchSize;
+
+    private SeededApplication application;
+
+    private CoursesServiceImpl coursesService;
+
+    private TransactionTemplate transactions;
+
+    private UUID courseId;
+
+    private List<UUID> studentIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        application = new SeededApplication();
+        coursesService = application.bean(CoursesServiceImpl.class);
+        transactions = application.transactions();
+
+        Course course = new Course();
+        course.setName("Elective");
+        courseId = application.bean(CoursesRepository.class).save(course).getId();
+        studentIds = application.students().subList(0, batchSize).stream().map(Student::getId).toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        application.close();
+    }
+
+    @Benchmark
+    public void enrollAndDeregister(Blackhole blackhole) {
+        blackhole.consume(coursesService.enrollStudentsInCourse(studentIds, courseId));
+        blackhole.consume(transactions.execute(
+                status -> coursesService.deregisterStudentsFromCourse(studentIds, courseId)));
+    }
+}
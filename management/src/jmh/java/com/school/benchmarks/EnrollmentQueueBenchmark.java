@@ -0,0 +1,95 @@
+package com.school.benchmarks;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.school.management.models.Course;
+import com.school.management.models.Student;
+import com.school.management.repositories.CoursesRepository;
+import com.school.management.services.CoursesServiceImpl;
+import com.school.management.services.EnrollmentQueue;
+
+/**
+ * A burst of single-student enrollments into one course, sent one transaction each
+ * the way {@code POST /courses/{id}/students} handles them, and queued with
+ * {@code async=true} and flushed as one batch. Each invocation enrolls the whole burst
+ * and deregisters it again, so the score is the time per burst.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class EnrollmentQueueBenchmark {
+
+    @Param({ "10", "100", "1000" })
+    private int requests;
+
+    private SeededApplication application;
+
+    private CoursesServiceImpl coursesService;
+
+    private EnrollmentQueue enrollmentQueue;
+
+    private TransactionTemplate transactions;
+
+    private UUID courseId;
+
+    private List<UUID> studentIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        application = new SeededApplication();
+        coursesService = application.bean(CoursesServiceImpl.class);
+        enrollmentQueue = application.bean(EnrollmentQueue.class);
+        transactions = application.transactions();
+
+        Course course = new Course();
+        course.setName("Elective");
+        courseId = application.bean(CoursesRepository.class).save(course).getId();
+        studentIds = application.students().subList(0, requests).stream().map(Student::getId).toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        application.close();
+    }
+
+    @Benchmark
+    public void oneTransactionPerRequest() {
+        for (UUID studentId : studentIds) {
+            coursesService.enrollStudentsInCourse(List.of(studentId), courseId);
+        }
+        deregister();
+    }
+
+    @Benchmark
+    public void queued() {
+        for (UUID studentId : studentIds) {
+            enrollmentQueue.enrollStudents(courseId, List.of(studentId));
+        }
+        enrollmentQueue.flush();
+        deregister();
+    }
+
+    private void deregister() {
+        transactions.execute(status -> coursesService.deregisterStudentsFromCourse(studentIds, courseId));
+    }
+}
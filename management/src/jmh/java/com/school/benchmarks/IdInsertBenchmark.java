@@ -0,0 +1,97 @@
+package com.school.benchmarks;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.school.management.models.Course;
+import com.school.management.models.TimeOrderedUuidGenerator;
+
+/**
+ * Inserts {@value #ROWS} students, each enrolled in one course, into empty tables
+ * with JDBC batches, once keyed by random (v4) UUIDs and once by time-ordered (v7)
+ * UUIDs. Every insert touches the students primary key and both join-table indexes.
+ * The score is the time per row; rows per second is {@code 1e9 / score}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@OperationsPerInvocation(IdInsertBenchmark.ROWS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+public class IdInsertBenchmark {
+
+    static final int ROWS = 1_000_000;
+    static final int BATCH_SIZE = 1_000;
+
+    @Param({ "random", "time-ordered" })
+    private String ids;
+
+    private SeededApplication application;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private Supplier<UUID> idSupplier;
+
+    private List<UUID> courseIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        application = new SeededApplication();
+        jdbcTemplate = application.bean(JdbcTemplate.class);
+        idSupplier = "random".equals(ids) ? UUID::randomUUID : TimeOrderedUuidGenerator::next;
+        courseIds = application.courses().stream().map(Course::getId).toList();
+    }
+
+    @Setup(Level.Iteration)
+    public void emptyTables() {
+        jdbcTemplate.execute("DELETE FROM student_course");
+        jdbcTemplate.execute("DELETE FROM students");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        application.close();
+    }
+
+    @Benchmark
+    public void insert() {
+        UUID[] batch = new UUID[BATCH_SIZE];
+        for (int offset = 0; offset < ROWS; offset += BATCH_SIZE) {
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                batch[i] = idSupplier.get();
+            }
+            int first = offset;
+            jdbcTemplate.batchUpdate("INSERT INTO students (id, name, age, student_group) VALUES (?, ?, ?, ?)",
+                    List.of(batch), BATCH_SIZE, (statement, id) -> {
+                        statement.setObject(1, id);
+                        statement.setString(2, "Student " + first);
+                        statement.setInt(3, 18 + first % 12);
+                        statement.setString(4, SeededApplication.group(first));
+                    });
+            jdbcTemplate.batchUpdate("INSERT INTO student_course (student_id, course_id) VALUES (?, ?)",
+                    List.of(batch), BATCH_SIZE, (statement, id) -> {
+                        statement.setObject(1, id);
+                        statement.setObject(2, courseIds.get(first / BATCH_SIZE % courseIds.size()));
+                    });
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.school.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.school.management.dto.ImportResult;
+import com.school.management.services.ImportService;
+
+/**
+ * {@code POST /students/import} of {@value #ROWS} NDJSON students into an empty
+ * table. The score is the time per row; rows per second is {@code 1e9 / score}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@OperationsPerInvocation(ImportThroughputBenchmark.ROWS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+public class ImportThroughputBenchmark {
+
+    static final int ROWS = 1_000_000;
+
+    private SeededApplication application;
+
+    private ImportService importService;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private byte[] input;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        application = new SeededApplication();
+        importService = application.bean(ImportService.class);
+        jdbcTemplate = application.bean(JdbcTemplate.class);
+
+        StringBuilder ndjson = new StringBuilder(ROWS * 48);
+        for (int i = 0; i < ROWS; i++) {
+            ndjson.append("{\"name\":\"Student ").append(i)
+                    .append("\",\"age\":").append(18 + i % 12)
+                    .append(",\"group\":\"").append(SeededApplication.group(i)).append("\"}\n");
+        }
+        input = ndjson.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Setup(Level.Iteration)
+    public void emptyTables() {
+        jdbcTemplate.execute("DELETE FROM student_course");
+        jdbcTemplate.execute("DELETE FROM students");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        application.close();
+    }
+
+    @Benchmark
+    public ImportResult importStudents() throws IOException {
+        return importService.importStudents(new ByteArrayInputStream(input), MediaType.APPLICATION_NDJSON);
+    }
+}
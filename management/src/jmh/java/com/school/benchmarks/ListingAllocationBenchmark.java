@@ -0,0 +1,88 @@
+package com.school.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.school.management.dto.StudentDTO;
+import com.school.management.models.Student;
+import com.school.management.repositories.ExampleSpecifications;
+import com.school.management.repositories.StudentsRepository;
+import com.school.management.services.StudentsServiceImpl;
+
+/**
+ * A listing page read by hydrating students as entities and copying them into DTOs,
+ * against reading the DTO shape straight from SQL. Run with {@code -prof gc} to
+ * compare the bytes allocated per page ({@code gc.alloc.rate.norm}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ListingAllocationBenchmark {
+
+    @Param({ "100" })
+    private int pageSize;
+
+    private SeededApplication application;
+
+    private StudentsRepository studentsRepository;
+
+    private StudentsServiceImpl studentsService;
+
+    private TransactionTemplate transactions;
+
+    private final Example<Student> example = Example.of(new Student());
+
+    private int pageNumber;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        application = new SeededApplication();
+        studentsRepository = application.bean(StudentsRepository.class);
+        studentsService = application.bean(StudentsServiceImpl.class);
+        transactions = application.transactions();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        application.close();
+    }
+
+    @Benchmark
+    public List<StudentDTO> entityHydration() {
+        Pageable page = nextPage();
+        return transactions.execute(status -> studentsRepository.findAll(example, page)
+                .map(studentsService::toDTO)
+                .getContent());
+    }
+
+    @Benchmark
+    public List<StudentDTO> dtoProjection() {
+        return studentsRepository.findDTOs(ExampleSpecifications.matching(example), nextPage());
+    }
+
+    private Pageable nextPage() {
+        pageNumber = (pageNumber + 1) % (SeededApplication.STUDENTS / pageSize);
+        return PageRequest.of(pageNumber, pageSize);
+    }
+}
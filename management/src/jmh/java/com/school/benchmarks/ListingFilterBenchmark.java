@@ -0,0 +1,88 @@
+package com.school.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.school.management.dto.MemberFilter;
+import com.school.management.dto.PageResult;
+import com.school.management.dto.StudentDTO;
+import com.school.management.dto.TotalMode;
+import com.school.management.models.Student;
+import com.school.management.services.StudentsServiceImpl;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * {@code GET /students} filtered by group, once with the filter as an example probe,
+ * which is turned into a criteria query and translated to SQL on every call, and once
+ * with the same filter as query parameters, which reuses a prepared query string and
+ * the plan Hibernate cached for it. With {@code matching=false} the group is unknown,
+ * so the database has next to nothing to do and the difference is the planning. The
+ * query plan cache hits and misses of each trial are printed at its end.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 8, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ListingFilterBenchmark {
+
+    @Param({ "true", "false" })
+    private boolean matching;
+
+    private SeededApplication application;
+
+    private StudentsServiceImpl studentsService;
+
+    private Statistics statistics;
+
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        application = new SeededApplication();
+        studentsService = application.bean(StudentsServiceImpl.class);
+        statistics = application.bean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.out.printf("%nquery plan cache: %d hits, %d misses%n", statistics.getQueryPlanCacheHitCount(),
+                statistics.getQueryPlanCacheMissCount());
+        application.close();
+    }
+
+    @Benchmark
+    public PageResult<StudentDTO> probe() {
+        Student probe = new Student();
+        probe.setGroup(group());
+        return studentsService.getAll(probe, null, 20, 0, TotalMode.EXACT);
+    }
+
+    @Benchmark
+    public PageResult<StudentDTO> queryParameters() {
+        MemberFilter filter = new MemberFilter(null, group(), null, null, null, null);
+        return studentsService.getAll(null, filter, 20, 0, TotalMode.EXACT);
+    }
+
+    private String group() {
+        return matching ? SeededApplication.group(next++) : "Group " + -++next;
+    }
+}
@@ -0,0 +1,146 @@
+package com.school.benchmarks;
+
+import static com.school.management.constants.ApiConstants.COURSES_URL;
+import static com.school.management.constants.ApiConstants.STUDENTS_URL;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublisher;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.school.management.models.Course;
+import com.school.management.models.Student;
+
+/**
+ * Drives the running server over HTTP with {@value #READERS} clients listing
+ * students and course rosters and {@value #WRITERS} clients enrolling and
+ * deregistering students, once with requests on a {@value #TOMCAT_THREADS}-thread
+ * Tomcat worker pool and once on virtual threads. Requests that do not answer
+ * with 2xx are counted in the {@code errors} column rather than failing the run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class MixedWorkloadBenchmark {
+
+    static final int READERS = 96;
+    static final int WRITERS = 32;
+    static final int TOMCAT_THREADS = 16;
+    static final int ENROLLMENT_BATCH = 10;
+
+    @Param({ "platform", "virtual" })
+    private String threading;
+
+    private SeededApplication application;
+
+    private HttpClient client;
+
+    private ObjectMapper objectMapper;
+
+    private String baseUrl;
+
+    private List<UUID> courseIds;
+
+    private List<UUID> studentIds;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Outcomes {
+        public long errors;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        application = new SeededApplication(WebApplicationType.SERVLET,
+                "spring.threads.virtual.enabled=" + "virtual".equals(threading),
+                "server.tomcat.threads.max=" + TOMCAT_THREADS,
+                "server.tomcat.accept-count=" + (READERS + WRITERS));
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        objectMapper = new ObjectMapper();
+        baseUrl = "http://localhost:" + application.port();
+        courseIds = application.courses().stream().map(Course::getId).toList();
+        studentIds = application.students().stream().map(Student::getId).toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        client.close();
+        application.close();
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(READERS)
+    public void read(Outcomes outcomes) throws IOException, InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String path = random.nextBoolean()
+                ? STUDENTS_URL + "?pageSize=20&pageNumber=" + random.nextInt(SeededApplication.STUDENTS / 20)
+                : COURSES_URL + "/" + pick(courseIds) + "/students?group="
+                        + SeededApplication.group(random.nextInt(SeededApplication.GROUPS)).replace(" ", "%20");
+        send(outcomes, "GET", path, BodyPublishers.noBody());
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(WRITERS)
+    public void enroll(Outcomes outcomes) throws IOException, InterruptedException {
+        String path = COURSES_URL + "/" + pick(courseIds) + "/students";
+        List<UUID> batch = new ArrayList<>(ENROLLMENT_BATCH);
+        for (int i = 0; i < ENROLLMENT_BATCH; i++) {
+            batch.add(pick(studentIds));
+        }
+        send(outcomes, "POST", path, json(batch));
+        send(outcomes, "DELETE", path, json(batch));
+    }
+
+    private void send(Outcomes outcomes, String method, String path, BodyPublisher body)
+            throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .method(method, body)
+                .build();
+        int status = client.send(request, BodyHandlers.discarding()).statusCode();
+        if (status / 100 != 2) {
+            outcomes.errors++;
+        }
+    }
+
+    private BodyPublisher json(Object body) throws JsonProcessingException {
+        return BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+    }
+
+    private static <T> T pick(List<T> values) {
+        return values.get(ThreadLocalRandom.current().nextInt(values.size()));
+    }
+}
@@ -0,0 +1,105 @@
+package com.school.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.school.management.dto.NameMatch;
+import com.school.management.services.TrigramIndex;
+
+/**
+ * Name search over synthetic people, answered by the trigram index behind
+ * {@code GET /students/search} and by a scan that checks every lower-cased name for
+ * the query words, as ranking needs every match. Names are a first name and a surname
+ * built from three syllables, which gives tens of thousands of distinct surnames.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class NameSearchBenchmark {
+
+    private static final String[] FIRST_NAMES = { "Ivan", "Ivana", "Peter", "Olga", "Anna", "Maria", "Dmitri",
+            "Elena", "Sergei", "Natalia", "Alexei", "Irina", "Mikhail", "Svetlana", "Nikolai", "Tatiana", "John",
+            "Jane", "Michael", "Sarah", "David", "Emma", "James", "Olivia", "Robert", "Sophia", "William", "Chloe",
+            "Thomas", "Lucia", "Marek", "Zofia", "Pavel", "Katerina", "Jan", "Eva", "Lukas", "Lena", "Felix", "Mia" };
+
+    private static final String[] SYLLABLES = { "pe", "tr", "ov", "iv", "an", "smi", "rn", "ko", "val", "sky",
+            "ber", "man", "son", "lin", "dor", "ska", "mo", "ra", "zu", "kin", "ten", "gar", "nov", "el", "ha", "fi",
+            "wa", "ro", "ch", "ly" };
+
+    @Param({ "1000000" })
+    private int people;
+
+    @Param({ "ivan pet", "petrov", "ivn petrv", "a" })
+    private String query;
+
+    private TrigramIndex index;
+
+    private List<String> names;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        index = new TrigramIndex();
+        names = new ArrayList<>(people);
+        for (int i = 0; i < people; i++) {
+            String surname = SYLLABLES[random.nextInt(SYLLABLES.length)]
+                    + SYLLABLES[random.nextInt(SYLLABLES.length)]
+                    + SYLLABLES[random.nextInt(SYLLABLES.length)];
+            String name = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " "
+                    + Character.toUpperCase(surname.charAt(0)) + surname.substring(1);
+            names.add(name);
+            index.put(new UUID(i, i), name, "group-" + random.nextInt(40), 16 + random.nextInt(50));
+        }
+    }
+
+    @Benchmark
+    public List<NameMatch> trigramIndex() {
+        return index.search(query, null, null, null, 20);
+    }
+
+    @Benchmark
+    public List<NameMatch> trigramIndexInGroup() {
+        return index.search(query, "group-7", 18, 30, 20);
+    }
+
+    @Benchmark
+    public int scan() {
+        String[] terms = query.toLowerCase(Locale.ROOT).split(" ");
+        int found = 0;
+        for (String name : names) {
+            String folded = name.toLowerCase(Locale.ROOT);
+            boolean all = true;
+            for (String term : terms) {
+                if (!folded.contains(term)) {
+                    all = false;
+                    break;
+                }
+            }
+            if (all) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+}
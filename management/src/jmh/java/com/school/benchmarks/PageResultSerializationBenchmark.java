@@ -0,0 +1,101 @@
+package com.school.benchmarks;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.school.management.dto.CourseDTO;
+import com.school.management.dto.PageResult;
+import com.school.management.dto.StudentDTO;
+import com.school.management.models.CourseType;
+
+/**
+ * Jackson serialization of a {@code GET /students} response body in each negotiable
+ * format, using an {@link ObjectMapper} configured with Spring's defaults. The encoded
+ * size of every page is printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class PageResultSerializationBenchmark {
+
+    private static final TypeReference<PageResult<StudentDTO>> STUDENT_PAGE = new TypeReference<>() {
+    };
+
+    @Param({ "20", "100", "1000" })
+    private int pageSize;
+
+    @Param({ "json", "smile", "cbor" })
+    private String format;
+
+    private ObjectMapper objectMapper;
+
+    private PageResult<StudentDTO> page;
+
+    private byte[] encoded;
+
+    @Setup(Level.Trial)
+    public void setUp() throws JsonProcessingException {
+        objectMapper = switch (format) {
+            case "smile" -> Jackson2ObjectMapperBuilder.smile().build();
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor().build();
+            default -> Jackson2ObjectMapperBuilder.json().build();
+        };
+
+        List<CourseDTO> courses = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            CourseDTO course = new CourseDTO();
+            course.setId(UUID.randomUUID());
+            course.setName("Course " + i);
+            course.setCourseType(CourseType.values()[i % CourseType.values().length]);
+            courses.add(course);
+        }
+
+        List<StudentDTO> students = new ArrayList<>();
+        for (int i = 0; i < pageSize; i++) {
+            StudentDTO student = new StudentDTO();
+            student.setId(UUID.randomUUID());
+            student.setName("Student " + i);
+            student.setAge(18 + i % 12);
+            student.setGroup(SeededApplication.group(i));
+            student.setCourses(courses);
+            students.add(student);
+        }
+        page = new PageResult<>(students, (long) SeededApplication.STUDENTS);
+
+        encoded = writePage();
+        System.out.printf("%s page of %d students: %d bytes%n", format, pageSize, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] writePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public PageResult<StudentDTO> readPage() throws IOException {
+        return objectMapper.readValue(encoded, STUDENT_PAGE);
+    }
+}
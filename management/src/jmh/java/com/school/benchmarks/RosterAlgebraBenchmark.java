@@ -0,0 +1,82 @@
+package com.school.benchmarks;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.school.management.models.Student;
+import com.school.management.repositories.StudentSpecifications;
+import com.school.management.repositories.StudentsRepository;
+import com.school.management.services.CoursesServiceImpl;
+
+/**
+ * "How many students of group g take courses A and B but not C", answered by the
+ * membership bitmaps behind {@code GET /courses/students/match/count} and by a
+ * count query combining {@code StudentSpecifications.hasCourseId} semi-joins.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class RosterAlgebraBenchmark {
+
+    private SeededApplication application;
+
+    private CoursesServiceImpl coursesService;
+
+    private StudentsRepository studentsRepository;
+
+    private List<UUID> courseIds;
+
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        application = new SeededApplication();
+        coursesService = application.bean(CoursesServiceImpl.class);
+        studentsRepository = application.bean(StudentsRepository.class);
+        courseIds = application.courses().stream().map(course -> course.getId()).toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        application.close();
+    }
+
+    @Benchmark
+    public long bitmapIndex() {
+        next = (next + 1) % courseIds.size();
+        return coursesService.countMatchingStudents(List.of(course(0), course(1)), null, List.of(course(2)),
+                SeededApplication.group(next));
+    }
+
+    @Benchmark
+    public long specifications() {
+        next = (next + 1) % courseIds.size();
+        Specification<Student> spec = StudentSpecifications.hasCourseId(course(0))
+                .and(StudentSpecifications.hasCourseId(course(1)))
+                .and(Specification.not(StudentSpecifications.hasCourseId(course(2))))
+                .and(StudentSpecifications.hasGroup(SeededApplication.group(next)));
+        return studentsRepository.count(spec);
+    }
+
+    private UUID course(int offset) {
+        return courseIds.get((next + offset) % courseIds.size());
+    }
+}
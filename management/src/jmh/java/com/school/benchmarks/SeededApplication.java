@@ -0,0 +1,104 @@
+package com.school.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.school.management.TrackingApplication;
+import com.school.management.models.Course;
+import com.school.management.models.Student;
+import com.school.management.repositories.CoursesRepository;
+import com.school.management.repositories.StudentsRepository;
+
+/**
+ * Boots the application, without the web layer unless asked for, against a
+ * private in-memory H2 database seeded with {@value #STUDENTS} students spread
+ * over {@value #COURSES} courses and {@value #GROUPS} groups.
+ */
+final class SeededApplication implements AutoCloseable {
+
+    static final int COURSES = 50;
+    static final int STUDENTS = 10_000;
+    static final int COURSES_PER_STUDENT = 3;
+    static final int GROUPS = 40;
+
+    private final ConfigurableApplicationContext context;
+
+    private final List<Course> courses = new ArrayList<>();
+
+    private final List<Student> students = new ArrayList<>();
+
+    SeededApplication() {
+        this(WebApplicationType.NONE);
+    }
+
+    SeededApplication(WebApplicationType webApplicationType, String... properties) {
+        context = new SpringApplicationBuilder(TrackingApplication.class)
+                .web(webApplicationType)
+                .logStartupInfo(false)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:bench-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                        "server.port=0",
+                        "logging.level.root=WARN")
+                .properties(properties)
+                .run();
+        seed();
+    }
+
+    private void seed() {
+        for (int i = 0; i < COURSES; i++) {
+            Course course = new Course();
+            course.setName("Course " + i);
+            courses.add(course);
+        }
+        bean(CoursesRepository.class).saveAll(courses);
+
+        for (int i = 0; i < STUDENTS; i++) {
+            Student student = new Student();
+            student.setName("Student " + i);
+            student.setAge(18 + i % 12);
+            student.setGroup(group(i));
+            student.setCourses(Set.of(
+                    courses.get(i % COURSES),
+                    courses.get((i + 1) % COURSES),
+                    courses.get((i + 2) % COURSES)));
+            students.add(student);
+        }
+        bean(StudentsRepository.class).saveAll(students);
+    }
+
+    static String group(int index) {
+        return "Group " + index % GROUPS;
+    }
+
+    <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    int port() {
+        return context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+    }
+
+    TransactionTemplate transactions() {
+        return bean(TransactionTemplate.class);
+    }
+
+    List<Course> courses() {
+        return courses;
+    }
+
+    List<Student> students() {
+        return students;
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
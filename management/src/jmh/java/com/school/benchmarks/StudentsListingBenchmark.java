@@ -0,0 +1,79 @@
+package com.school.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.Hibernate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.school.management.dto.PageResult;
+import com.school.management.dto.StudentDTO;
+import com.school.management.dto.TotalMode;
+import com.school.management.models.Student;
+import com.school.management.repositories.StudentsRepository;
+import com.school.management.services.StudentsServiceImpl;
+
+/**
+ * {@code GET /students} listing: a full page through {@link StudentsServiceImpl#getAll}
+ * and the entity-to-DTO mapping of {@link StudentsServiceImpl#toDTO} on its own.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class StudentsListingBenchmark {
+
+    @Param({ "20", "100" })
+    private int pageSize;
+
+    private SeededApplication application;
+
+    private StudentsServiceImpl studentsService;
+
+    private List<Student> page;
+
+    private int pageNumber;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        application = new SeededApplication();
+        studentsService = application.bean(StudentsServiceImpl.class);
+
+        page = application.transactions().execute(status -> {
+            List<Student> students = application.bean(StudentsRepository.class)
+                    .findAllById(application.students().subList(0, pageSize).stream().map(Student::getId).toList());
+            students.forEach(student -> Hibernate.initialize(student.getCourses()));
+            return students;
+        });
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        application.close();
+    }
+
+    @Benchmark
+    public PageResult<StudentDTO> getAll() {
+        pageNumber = (pageNumber + 1) % (SeededApplication.STUDENTS / pageSize);
+        return studentsService.getAll(null, null, pageSize, pageNumber, TotalMode.EXACT);
+    }
+
+    @Benchmark
+    public List<StudentDTO> toDTO() {
+        return page.stream().map(studentsService::toDTO).toList();
+    }
+}
@@ -0,0 +1,100 @@
+package com.school.management.config;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Hands out replica connections to the reads run through {@link #readFromReplica}
+ * inside a read-only transaction and primary connections everywhere else, including
+ * Spring Data's own read-only transactions, which may follow a write that the replica
+ * has not received yet. When the replica cannot be reached, the marked reads use the
+ * primary and the replica is not tried again for the retry interval, so reads keep
+ * working without waiting for a connection timeout each time.
+ * <p>
+ * The transaction is only known to be read-only once it has started, so this must
+ * sit behind a {@code LazyConnectionDataSourceProxy}, which asks for the connection
+ * at the first statement.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    private static final ThreadLocal<Boolean> REPLICA_READS = new ThreadLocal<>();
+
+    private final DataSource primary;
+
+    private final DataSource replica;
+
+    private final long retryNanos;
+
+    private volatile long replicaRetryAt;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, Duration retryInterval) {
+        this.primary = primary;
+        this.replica = replica;
+        this.retryNanos = retryInterval.toNanos();
+        this.replicaRetryAt = System.nanoTime();
+    }
+
+    /**
+     * Runs the reads with the replica as their source. A transaction keeps the
+     * connection of its first statement, so the reads must start the transaction's
+     * work.
+     */
+    public static <T> T readFromReplica(Supplier<T> reads) {
+        Boolean outer = REPLICA_READS.get();
+        REPLICA_READS.set(Boolean.TRUE);
+        try {
+            return reads.get();
+        } finally {
+            if (outer == null) {
+                REPLICA_READS.remove();
+            }
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (useReplica()) {
+            try {
+                return replica.getConnection();
+            } catch (SQLException | RuntimeException e) {
+                replicaFailed(e);
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        if (useReplica()) {
+            try {
+                return replica.getConnection(username, password);
+            } catch (SQLException | RuntimeException e) {
+                replicaFailed(e);
+            }
+        }
+        return primary.getConnection(username, password);
+    }
+
+    private boolean useReplica() {
+        return REPLICA_READS.get() != null
+                && TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && System.nanoTime() - replicaRetryAt >= 0;
+    }
+
+    private void replicaFailed(Exception e) {
+        replicaRetryAt = System.nanoTime() + retryNanos;
+        log.warn("Replica unavailable, reading from the primary for {} ms: {}", retryNanos / 1_000_000,
+                e.getMessage());
+    }
+
+}
@@ -0,0 +1,96 @@
+package com.school.management.config;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.school.management.dto.ErrorResponse;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Bounds the number of requests in flight when requests run on virtual threads.
+ * Tomcat then no longer limits concurrency through its worker pool, and every
+ * request would otherwise queue on the connection pool until Hikari times it out.
+ * The number of permits follows the connection pool: its maximum size times
+ * {@code school.virtual-threads.requests-per-connection}, so resizing the pool
+ * resizes the limit. Requests wait up to the admission timeout for a permit and get
+ * a 503 after that. Actuator endpoints are never held back.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class RequestAdmissionFilter extends OncePerRequestFilter {
+
+    private final Semaphore permits;
+
+    private final Duration admissionTimeout;
+
+    private final ObjectMapper objectMapper;
+
+    public RequestAdmissionFilter(
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int connections,
+            @Value("${school.virtual-threads.requests-per-connection}") int requestsPerConnection,
+            @Value("${school.virtual-threads.admission-timeout}") Duration admissionTimeout,
+            ObjectMapper objectMapper) {
+        if (connections < 1 || requestsPerConnection < 1) {
+            throw new IllegalArgumentException("Connection pool size and requests per connection must be positive");
+        }
+        this.permits = new Semaphore(connections * requestsPerConnection, true);
+        this.admissionTimeout = admissionTimeout;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith("/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!acquire()) {
+            reject(response);
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private boolean acquire() {
+        try {
+            return permits.tryAcquire(admissionTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), ErrorResponse.builder()
+                .error(ErrorResponse.Error.builder()
+                        .message("Server is busy, retry later")
+                        .build())
+                .build());
+    }
+
+}
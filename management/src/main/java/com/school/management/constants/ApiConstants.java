@@ -14,5 +14,8 @@ public class ApiConstants {
     public static final String STUDENTS_URL = BASE_URL + "/students";
     public static final String TEACHERS_URL = BASE_URL + "/teachers";
     public static final String COURSES_URL = BASE_URL + "/courses";
+    public static final String CHANGES_URL = BASE_URL + "/changes";
+
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
 
 }
@@ -9,4 +9,7 @@ import lombok.NoArgsConstructor;
 public class Constants {
     public static final int DEFAULT_PAGE_NUMBER = 0;
     public static final int DEFAULT_PAGE_SIZE = 10;
+    public static final int MAX_IDS_PER_STATEMENT = 1000;
+    public static final int MAX_PAGE_SIZE = 1000;
+    public static final int MAX_WRITE_ATTEMPTS = 3;
 }
@@ -0,0 +1,31 @@
+package com.school.management.controllers;
+
+import static com.school.management.constants.ApiConstants.CHANGES_URL;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.school.management.dto.ChangeFeed;
+import com.school.management.services.ChangeLog;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping(CHANGES_URL)
+@Tag(name = "Changes", description = "Endpoint for syncing copies of students, teachers, courses and memberships")
+public class ChangesController {
+
+    private final ChangeLog changeLog;
+
+    @Operation(summary = "Get changes since a sequence", description = "Returns the changes to students, teachers, courses, enrollments and assignments numbered above since, in sequence order, with the current state of changed students, teachers and courses and tombstones for deletes. Pass the returned next as since to continue. limit defaults to and is capped at 1000.")
+    @GetMapping
+    public ChangeFeed getChanges(@RequestParam(defaultValue = "0") long since,
+            @RequestParam(required = false) Integer limit) {
+        return changeLog.since(since, limit);
+    }
+}
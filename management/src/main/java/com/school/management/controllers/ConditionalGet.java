@@ -0,0 +1,102 @@
+package com.school.management.controllers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.school.management.models.Course;
+import com.school.management.services.ChangeStamps;
+import com.school.management.services.ChangeStamps.Stamp;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Sets a strong {@code ETag} and {@code Last-Modified} on listing responses and
+ * answers {@code If-None-Match} / {@code If-Modified-Since} with 304 Not Modified.
+ * The tag combines the change stamps of the listed collections with a digest of the
+ * query, so it is known before the query runs. Controllers return {@code null} when
+ * a check reports the client's copy as current.
+ * <p>
+ * The stamps move when a write commits on the primary, while listings are read from
+ * the replica if {@code school.datasource.replica.url} is set. A tag could then
+ * stand for a listing the lagging replica has not caught up with, so with a replica
+ * no tag is set and every check reports the copy as changed.
+ */
+@Component
+public class ConditionalGet {
+
+    private final ChangeStamps changeStamps;
+
+    private final ObjectMapper objectMapper;
+
+    private final boolean replicated;
+
+    public ConditionalGet(ChangeStamps changeStamps, ObjectMapper objectMapper,
+            @Value("${school.datasource.replica.url:}") String replicaUrl) {
+        this.changeStamps = changeStamps;
+        this.objectMapper = objectMapper;
+        this.replicated = !replicaUrl.isBlank();
+    }
+
+    /**
+     * Checks a listing that shows entities of the given types, including those
+     * embedded in the listed ones, and their course memberships.
+     */
+    public boolean notModified(WebRequest request, List<?> query, Class<?>... types) {
+        List<Stamp> stamps = new ArrayList<>();
+        for (Class<?> type : types) {
+            stamps.add(changeStamps.get(type));
+            stamps.add(changeStamps.getRoster(type, null));
+        }
+        return notModified(request, query, stamps);
+    }
+
+    /**
+     * Checks the roster of the members of the given type in the course. The course
+     * stamp is part of the tag, so a roster whose course was deleted is not reported
+     * as current.
+     */
+    public boolean rosterNotModified(WebRequest request, List<?> query, Class<?> type, UUID courseId) {
+        return notModified(request, query, List.of(changeStamps.get(Course.class), changeStamps.get(type),
+                changeStamps.getRoster(type, courseId)));
+    }
+
+    private boolean notModified(WebRequest request, List<?> query, List<Stamp> stamps) {
+        if (replicated) {
+            return false;
+        }
+        StringBuilder etag = new StringBuilder("\"").append(changeStamps.epoch());
+        long lastModified = 0;
+        for (Stamp stamp : stamps) {
+            etag.append('-').append(Long.toString(stamp.counter(), 36));
+            lastModified = Math.max(lastModified, stamp.lastModified());
+        }
+        // the same query is served in several formats, so the tag and caches tell them apart
+        etag.append('-').append(digest(Arrays.asList(query, request.getHeader(HttpHeaders.ACCEPT)))).append('"');
+        if (request instanceof NativeWebRequest nativeRequest
+                && nativeRequest.getNativeResponse() instanceof HttpServletResponse response) {
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        }
+
+        return request.checkNotModified(etag.toString(), lastModified);
+    }
+
+    private String digest(List<?> query) {
+        try {
+            return DigestUtils.md5DigestAsHex(objectMapper.writeValueAsBytes(query));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+}
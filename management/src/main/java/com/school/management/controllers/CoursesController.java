@@ -2,9 +2,12 @@ package com.school.management.controllers;
 
 import static com.school.management.constants.ApiConstants.COURSES_URL;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
 
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -14,12 +17,21 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import com.school.management.dto.CacheStatistics;
+import com.school.management.dto.CourseFilter;
+import com.school.management.dto.DeleteResult;
+import com.school.management.dto.EnrollmentOperation;
 import com.school.management.dto.PageResult;
+import com.school.management.dto.TotalMode;
 import com.school.management.models.Course;
 import com.school.management.models.Student;
 import com.school.management.models.Teacher;
+import com.school.management.services.CourseCache;
 import com.school.management.services.CoursesService;
+import com.school.management.services.EnrollmentQueue;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -33,32 +45,141 @@ public class CoursesController {
 
     private final CoursesService coursesService;
 
-    @Operation(summary = "Get all courses", description = "Returns a paginated list of courses filtered by an optional course probe")
+    private final CourseCache courseCache;
+
+    private final ConditionalGet conditionalGet;
+
+    private final EnrollmentQueue enrollmentQueue;
+
+    @Operation(summary = "Get all courses", description = "Returns a paginated list of courses filtered by name and courseType query parameters and sorted by id, name or courseType (e.g. sort=name,desc), or by a course probe in the body. Use total=NONE to skip the count and get hasNext instead, or total=APPROXIMATE for a cached table count.")
     @GetMapping
     public PageResult<Course> getAll(@RequestBody(required = false) Course probe,
+            @ParameterObject CourseFilter filter,
             @RequestParam(required = false) Integer pageNumber,
-            @RequestParam(required = false) Integer pageSize) {
-        return coursesService.getAll(probe, pageSize, pageNumber);
+            @RequestParam(required = false) Integer pageSize,
+            @RequestParam(defaultValue = "EXACT") TotalMode total,
+            WebRequest request) {
+        if (conditionalGet.notModified(request, Arrays.asList(probe, filter, pageSize, pageNumber, total),
+                Course.class, Student.class, Teacher.class)) {
+            return null;
+        }
+        return coursesService.getAll(probe, filter, pageSize, pageNumber, total);
+    }
+
+    @Operation(summary = "Scroll courses", description = "Retrieves a keyset page of courses ordered by name and ID. Pass the returned nextCursor to get the following page. The total is only counted for the first page unless requested with total.")
+    @GetMapping("/scroll")
+    public PageResult<Course> scroll(@RequestBody(required = false) Course probe,
+            @RequestParam(required = false) Integer pageSize,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) TotalMode total,
+            WebRequest request) {
+        if (conditionalGet.notModified(request, Arrays.asList(probe, pageSize, cursor, total),
+                Course.class, Student.class, Teacher.class)) {
+            return null;
+        }
+        return coursesService.scroll(probe, pageSize, cursor, total);
+    }
+
+    @Operation(summary = "Get cache statistics", description = "Returns hit, miss and put counts of the second-level cache regions holding courses, their rosters and their members")
+    @GetMapping("/cache-statistics")
+    public List<CacheStatistics> getCacheStatistics() {
+        return courseCache.statistics();
     }
 
-    @Operation(summary = "Get students of a course", description = "Retrieves a list of students enrolled in a course, optionally filtered by group and minimum age")
+    @Operation(summary = "Get students of a course", description = "Retrieves a page of the students enrolled in a course, optionally filtered by group and minimum age and sorted by id, name, age or group (e.g. sort=age,desc). Use total=NONE to skip the count and get hasNext instead.")
     @GetMapping("/{id}/students")
-    public List<Student> getStudents(@PathVariable UUID id, @RequestParam(required = false) String group,
+    public PageResult<Student> getStudents(@PathVariable UUID id, @RequestParam(required = false) String group,
+            @RequestParam(required = false) Integer minAge,
+            @RequestParam(required = false) Integer pageSize,
+            @RequestParam(required = false) Integer pageNumber,
+            @RequestParam(required = false) String sort,
+            @RequestParam(defaultValue = "EXACT") TotalMode total,
+            WebRequest request) {
+        if (conditionalGet.rosterNotModified(request,
+                Arrays.asList(group, minAge, pageSize, pageNumber, sort, total), Student.class, id)) {
+            return null;
+        }
+        return coursesService.getStudents(id, group, minAge, pageSize, pageNumber, sort, total);
+    }
+
+    @Operation(summary = "Count students of a course", description = "Counts the students enrolled in a course, optionally filtered by group and minimum age")
+    @GetMapping("/{id}/students/count")
+    public long countStudents(@PathVariable UUID id, @RequestParam(required = false) String group,
             @RequestParam(required = false) Integer minAge) {
-        return coursesService.getStudents(id, group, minAge);
+        return coursesService.countStudents(id, group, minAge);
     }
 
-    @Operation(summary = "Get teachers of a course", description = "Retrieves a list of teachers assigned to a course, optionally filtered by group and minimum age")
+    @Operation(summary = "Get teachers of a course", description = "Retrieves a page of the teachers assigned to a course, optionally filtered by group and minimum age and sorted by id, name, age or group (e.g. sort=age,desc). Use total=NONE to skip the count and get hasNext instead.")
     @GetMapping("/{id}/teachers")
-    public List<Teacher> getTeachers(@PathVariable UUID id, @RequestParam(required = false) String group,
+    public PageResult<Teacher> getTeachers(@PathVariable UUID id, @RequestParam(required = false) String group,
+            @RequestParam(required = false) Integer minAge,
+            @RequestParam(required = false) Integer pageSize,
+            @RequestParam(required = false) Integer pageNumber,
+            @RequestParam(required = false) String sort,
+            @RequestParam(defaultValue = "EXACT") TotalMode total,
+            WebRequest request) {
+        if (conditionalGet.rosterNotModified(request,
+                Arrays.asList(group, minAge, pageSize, pageNumber, sort, total), Teacher.class, id)) {
+            return null;
+        }
+        return coursesService.getTeachers(id, group, minAge, pageSize, pageNumber, sort, total);
+    }
+
+    @Operation(summary = "Count teachers of a course", description = "Counts the teachers assigned to a course, optionally filtered by group and minimum age")
+    @GetMapping("/{id}/teachers/count")
+    public long countTeachers(@PathVariable UUID id, @RequestParam(required = false) String group,
             @RequestParam(required = false) Integer minAge) {
-        return coursesService.getTeachers(id, group, minAge);
+        return coursesService.countTeachers(id, group, minAge);
     }
 
-    @Operation(summary = "Add students to course", description = "Adds a list of students to the course with the given ID")
+    @Operation(summary = "Match students across courses", description = "Retrieves a page of the IDs of students enrolled in every course in allOf, at least one course in anyOf and no course in noneOf, optionally in a group. Answered from an in-memory membership index.")
+    @GetMapping("/students/match")
+    public PageResult<UUID> matchStudents(@RequestParam(required = false) List<UUID> allOf,
+            @RequestParam(required = false) List<UUID> anyOf,
+            @RequestParam(required = false) List<UUID> noneOf,
+            @RequestParam(required = false) String group,
+            @RequestParam(required = false) Integer pageSize,
+            @RequestParam(required = false) Integer pageNumber) {
+        return coursesService.matchStudents(allOf, anyOf, noneOf, group, pageSize, pageNumber);
+    }
+
+    @Operation(summary = "Count students matched across courses", description = "Counts the students enrolled in every course in allOf, at least one course in anyOf and no course in noneOf, optionally in a group")
+    @GetMapping("/students/match/count")
+    public long countMatchingStudents(@RequestParam(required = false) List<UUID> allOf,
+            @RequestParam(required = false) List<UUID> anyOf,
+            @RequestParam(required = false) List<UUID> noneOf,
+            @RequestParam(required = false) String group) {
+        return coursesService.countMatchingStudents(allOf, anyOf, noneOf, group);
+    }
+
+    @Operation(summary = "Match teachers across courses", description = "Retrieves a page of the IDs of teachers assigned to every course in allOf, at least one course in anyOf and no course in noneOf, optionally in a group. Answered from an in-memory membership index.")
+    @GetMapping("/teachers/match")
+    public PageResult<UUID> matchTeachers(@RequestParam(required = false) List<UUID> allOf,
+            @RequestParam(required = false) List<UUID> anyOf,
+            @RequestParam(required = false) List<UUID> noneOf,
+            @RequestParam(required = false) String group,
+            @RequestParam(required = false) Integer pageSize,
+            @RequestParam(required = false) Integer pageNumber) {
+        return coursesService.matchTeachers(allOf, anyOf, noneOf, group, pageSize, pageNumber);
+    }
+
+    @Operation(summary = "Count teachers matched across courses", description = "Counts the teachers assigned to every course in allOf, at least one course in anyOf and no course in noneOf, optionally in a group")
+    @GetMapping("/teachers/match/count")
+    public long countMatchingTeachers(@RequestParam(required = false) List<UUID> allOf,
+            @RequestParam(required = false) List<UUID> anyOf,
+            @RequestParam(required = false) List<UUID> noneOf,
+            @RequestParam(required = false) String group) {
+        return coursesService.countMatchingTeachers(allOf, anyOf, noneOf, group);
+    }
+
+    @Operation(summary = "Add students to course", description = "Adds a list of students to the course with the given ID and reports how many were added, already enrolled or unknown. With async=true the request is queued and applied together with the other queued requests of the course; the response is 202 with the operation, whose status is at the Location header.")
     @PostMapping("/{id}/students")
-    public Course enrollStudentsInCourse(@RequestBody List<UUID> students, @PathVariable UUID id) {
-        return coursesService.enrollStudentsInCourse(students, id);
+    public ResponseEntity<?> enrollStudentsInCourse(@RequestBody List<UUID> students, @PathVariable UUID id,
+            @RequestParam(defaultValue = "false") boolean async) {
+        if (async) {
+            return accepted(enrollmentQueue.enrollStudents(id, students));
+        }
+        return ResponseEntity.ok(coursesService.enrollStudentsInCourse(students, id));
     }
 
     @Operation(summary = "Remove students from course", description = "Removes a list of students from the course with the given ID")
@@ -67,10 +188,29 @@ public class CoursesController {
         return coursesService.deregisterStudentsFromCourse(students, id);
     }
 
-    @Operation(summary = "Add teachers to course", description = "Adds a list of teachers to the course with the given ID")
+    @Operation(summary = "Add teachers to course", description = "Adds a list of teachers to the course with the given ID and reports how many were added, already assigned or unknown. With async=true the request is queued like an asynchronous student enrollment.")
     @PostMapping("/{id}/teachers")
-    public Course enrollTeachersInCourse(@RequestBody List<UUID> teachers, @PathVariable UUID id) {
-        return coursesService.assignTeachersToCourse(teachers, id);
+    public ResponseEntity<?> enrollTeachersInCourse(@RequestBody List<UUID> teachers, @PathVariable UUID id,
+            @RequestParam(defaultValue = "false") boolean async) {
+        if (async) {
+            return accepted(enrollmentQueue.assignTeachers(id, teachers));
+        }
+        return ResponseEntity.ok(coursesService.assignTeachersToCourse(teachers, id));
+    }
+
+    @Operation(summary = "Get an asynchronous enrollment", description = "Returns the status of an enrollment or assignment queued with async=true: QUEUED, APPLIED with the added, skipped and unknown counts, or FAILED with the error")
+    @GetMapping("/enrollments/{operationId}")
+    public EnrollmentOperation getEnrollment(@PathVariable UUID operationId) {
+        return enrollmentQueue.get(operationId);
+    }
+
+    private static ResponseEntity<EnrollmentOperation> accepted(EnrollmentOperation operation) {
+        return ResponseEntity.accepted()
+                .location(ServletUriComponentsBuilder.fromCurrentContextPath()
+                        .path(COURSES_URL + "/enrollments/{operationId}")
+                        .buildAndExpand(operation.id())
+                        .toUri())
+                .body(operation);
     }
 
     @Operation(summary = "Remove teachers from course", description = "Removes a list of teachers from the course with the given ID")
@@ -96,4 +236,10 @@ public class CoursesController {
     public void delete(@PathVariable UUID id) {
         coursesService.delete(id);
     }
+
+    @Operation(summary = "Delete courses in bulk", description = "Deletes the courses with the given IDs in a few set-based statements and reports DELETED, NOT_FOUND or IN_USE for every ID. Courses that still have students or teachers are kept.")
+    @DeleteMapping
+    public DeleteResult deleteAll(@RequestBody List<UUID> ids) {
+        return coursesService.deleteAll(ids);
+    }
 }
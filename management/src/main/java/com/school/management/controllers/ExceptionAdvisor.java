@@ -1,5 +1,10 @@
 package com.school.management.controllers;
 
+import java.util.concurrent.RejectedExecutionException;
+
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseBody;
@@ -20,6 +25,13 @@ public class ExceptionAdvisor {
         return buildErrorResponse(exception);
     }
 
+    @ResponseBody
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ErrorResponse handleIllegalArgumentException(IllegalArgumentException exception) {
+        return buildErrorResponse(exception);
+    }
+
     @ResponseBody
     @ResponseStatus(HttpStatus.NOT_FOUND)
     @ExceptionHandler(EntityNotFoundException.class)
@@ -27,6 +39,20 @@ public class ExceptionAdvisor {
         return buildErrorResponse(exception);
     }
 
+    @ResponseBody
+    @ResponseStatus(HttpStatus.CONFLICT)
+    @ExceptionHandler({ ConcurrencyFailureException.class, DataIntegrityViolationException.class })
+    public ErrorResponse handleConflictingWriteException(DataAccessException exception) {
+        return buildErrorResponse(exception);
+    }
+
+    @ResponseBody
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ErrorResponse handleRejectedExecutionException(RejectedExecutionException exception) {
+        return buildErrorResponse(exception);
+    }
+
     @ResponseBody
     @ExceptionHandler(Exception.class)
     public ErrorResponse handleGenericException(Exception exception) {
@@ -0,0 +1,95 @@
+package com.school.management.controllers;
+
+import static com.school.management.constants.ApiConstants.APPLICATION_SMILE_VALUE;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Streams an export as newline-delimited JSON, or as a sequence of Smile or CBOR
+ * values when the client accepts one of those ahead of NDJSON.
+ */
+@Component
+@RequiredArgsConstructor
+public class ExportWriter {
+
+    private static final MediaType APPLICATION_SMILE = MediaType.parseMediaType(APPLICATION_SMILE_VALUE);
+
+    private static final List<MediaType> FORMATS = List.of(MediaType.APPLICATION_NDJSON, APPLICATION_SMILE,
+            MediaType.APPLICATION_CBOR);
+
+    private final ObjectMapper objectMapper;
+
+    private final MappingJackson2SmileHttpMessageConverter smileConverter;
+
+    private final MappingJackson2CborHttpMessageConverter cborConverter;
+
+    public <T> void write(HttpServletRequest request, HttpServletResponse response, Consumer<Consumer<T>> export)
+            throws IOException {
+        MediaType format = negotiate(request.getHeader(HttpHeaders.ACCEPT));
+        response.setContentType(format.toString());
+        OutputStream out = new BufferedOutputStream(response.getOutputStream());
+
+        if (format.equals(MediaType.APPLICATION_NDJSON)) {
+            export.accept(value -> {
+                try {
+                    out.write(objectMapper.writeValueAsBytes(value));
+                    out.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            out.flush();
+            return;
+        }
+
+        ObjectMapper mapper = format.equals(APPLICATION_SMILE)
+                ? smileConverter.getObjectMapper()
+                : cborConverter.getObjectMapper();
+        try (SequenceWriter values = mapper.writer().writeValues(out)) {
+            export.accept(value -> {
+                try {
+                    values.write(value);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    private static MediaType negotiate(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return MediaType.APPLICATION_NDJSON;
+        }
+
+        List<MediaType> accepted = MediaType.parseMediaTypes(accept);
+        MimeTypeUtils.sortBySpecificity(accepted);
+        for (MediaType type : accepted) {
+            for (MediaType format : FORMATS) {
+                if (type.isCompatibleWith(format)) {
+                    return format;
+                }
+            }
+        }
+        return MediaType.APPLICATION_NDJSON;
+    }
+
+}
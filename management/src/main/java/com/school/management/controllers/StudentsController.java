@@ -1,9 +1,15 @@
 package com.school.management.controllers;
 
+import static com.school.management.constants.ApiConstants.APPLICATION_SMILE_VALUE;
 import static com.school.management.constants.ApiConstants.STUDENTS_URL;
 
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
 import java.util.UUID;
 
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -13,14 +19,25 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import com.school.management.dto.DeleteResult;
+import com.school.management.dto.EnrollmentStatistics;
+import com.school.management.dto.ImportResult;
+import com.school.management.dto.MemberFilter;
+import com.school.management.dto.NameMatch;
 import com.school.management.dto.PageResult;
+import com.school.management.dto.TotalMode;
 import com.school.management.dto.StudentDTO;
+import com.school.management.models.Course;
 import com.school.management.models.Student;
+import com.school.management.services.ImportService;
 import com.school.management.services.StudentsService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 
 @RestController
@@ -31,12 +48,68 @@ public class StudentsController {
 
     private final StudentsService studentsService;
 
+    private final ImportService importService;
+
+    private final ExportWriter exportWriter;
+
+    private final ConditionalGet conditionalGet;
+
     @GetMapping
-    @Operation(summary = "Get all students", description = "Retrieves a paginated list of students based on optional filter criteria.")
+    @Operation(summary = "Get all students", description = "Retrieves a paginated list of students filtered by name, group, minAge, maxAge and courseId query parameters and sorted by id, name, age or group (e.g. sort=age,desc), or by a student probe in the body. Use total=NONE to skip the count and get hasNext instead, or total=APPROXIMATE for a cached table count.")
     public PageResult<StudentDTO> getAll(@RequestBody(required = false) Student probe,
+            @ParameterObject MemberFilter filter,
+            @RequestParam(required = false) Integer pageSize,
+            @RequestParam(required = false) Integer pageNumber,
+            @RequestParam(defaultValue = "EXACT") TotalMode total,
+            WebRequest request) {
+        if (conditionalGet.notModified(request, Arrays.asList(probe, filter, pageSize, pageNumber, total),
+                Student.class, Course.class)) {
+            return null;
+        }
+        return studentsService.getAll(probe, filter, pageSize, pageNumber, total);
+    }
+
+    @GetMapping("/scroll")
+    @Operation(summary = "Scroll students", description = "Retrieves a keyset page of students ordered by name and ID. Pass the returned nextCursor to get the following page. The total is only counted for the first page unless requested with total.")
+    public PageResult<StudentDTO> scroll(@RequestBody(required = false) Student probe,
             @RequestParam(required = false) Integer pageSize,
-            @RequestParam(required = false) Integer pageNumber) {
-        return studentsService.getAll(probe, pageSize, pageNumber);
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) TotalMode total,
+            WebRequest request) {
+        if (conditionalGet.notModified(request, Arrays.asList(probe, pageSize, cursor, total),
+                Student.class, Course.class)) {
+            return null;
+        }
+        return studentsService.scroll(probe, pageSize, cursor, total);
+    }
+
+    @GetMapping("/statistics")
+    @Operation(summary = "Get enrollment statistics", description = "Returns the number of students in total, per course, per group and per age, read from counters instead of scanning students.")
+    public EnrollmentStatistics getStatistics() {
+        return studentsService.getStatistics();
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Search students by name", description = "Returns students whose names match the query, best first. Words match as prefixes in any order and small typos are tolerated. Optionally restricted to a group and an age range.")
+    public List<NameMatch> search(@RequestParam String q,
+            @RequestParam(required = false) String group,
+            @RequestParam(required = false) Integer minAge,
+            @RequestParam(required = false) Integer maxAge,
+            @RequestParam(required = false) Integer limit) {
+        return studentsService.search(q, group, minAge, maxAge, limit);
+    }
+
+    @GetMapping(value = "/export", produces = { MediaType.APPLICATION_NDJSON_VALUE, APPLICATION_SMILE_VALUE,
+            MediaType.APPLICATION_CBOR_VALUE })
+    @Operation(summary = "Export all students", description = "Streams every student as newline-delimited JSON, one student per line, or as a sequence of Smile or CBOR values when the Accept header asks for one.")
+    public void export(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        exportWriter.write(request, response, studentsService::exportAll);
+    }
+
+    @PostMapping(value = "/import", consumes = { MediaType.APPLICATION_NDJSON_VALUE, "text/csv" })
+    @Operation(summary = "Import students", description = "Creates students from newline-delimited JSON or CSV with a name,age,group header. Rows that fail are reported by line number without aborting the import.")
+    public ImportResult importAll(HttpServletRequest request) throws IOException {
+        return importService.importStudents(request.getInputStream(), MediaType.parseMediaType(request.getContentType()));
     }
 
     @PostMapping
@@ -57,4 +130,10 @@ public class StudentsController {
         studentsService.delete(id);
     }
 
+    @DeleteMapping
+    @Operation(summary = "Delete students in bulk", description = "Deletes the students with the given IDs in a few set-based statements and reports DELETED or NOT_FOUND for every ID. Their course memberships are removed as well.")
+    public DeleteResult deleteAll(@RequestBody List<UUID> ids) {
+        return studentsService.deleteAll(ids);
+    }
+
 }
@@ -1,9 +1,15 @@
 package com.school.management.controllers;
 
+import static com.school.management.constants.ApiConstants.APPLICATION_SMILE_VALUE;
 import static com.school.management.constants.ApiConstants.TEACHERS_URL;
 
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
 import java.util.UUID;
 
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -13,14 +19,24 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import com.school.management.dto.DeleteResult;
+import com.school.management.dto.ImportResult;
+import com.school.management.dto.MemberFilter;
+import com.school.management.dto.NameMatch;
 import com.school.management.dto.PageResult;
+import com.school.management.dto.TotalMode;
 import com.school.management.dto.TeacherDTO;
+import com.school.management.models.Course;
 import com.school.management.models.Teacher;
+import com.school.management.services.ImportService;
 import com.school.management.services.TeachersService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 
 @RestController
@@ -31,12 +47,62 @@ public class TeachersController {
 
     private final TeachersService teachersService;
 
-    @Operation(summary = "Get all teachers", description = "Retrieves a paginated list of teachers based on optional filter criteria.")
+    private final ImportService importService;
+
+    private final ExportWriter exportWriter;
+
+    private final ConditionalGet conditionalGet;
+
+    @Operation(summary = "Get all teachers", description = "Retrieves a paginated list of teachers filtered by name, group, minAge, maxAge and courseId query parameters and sorted by id, name, age or group (e.g. sort=age,desc), or by a teacher probe in the body. Use total=NONE to skip the count and get hasNext instead, or total=APPROXIMATE for a cached table count.")
     @GetMapping
     public PageResult<TeacherDTO> getAll(@RequestBody(required = false) Teacher probe,
+            @ParameterObject MemberFilter filter,
             @RequestParam(required = false) Integer pageSize,
-            @RequestParam(required = false) Integer pageNumber) {
-        return teachersService.getAll(probe, pageSize, pageNumber);
+            @RequestParam(required = false) Integer pageNumber,
+            @RequestParam(defaultValue = "EXACT") TotalMode total,
+            WebRequest request) {
+        if (conditionalGet.notModified(request, Arrays.asList(probe, filter, pageSize, pageNumber, total),
+                Teacher.class, Course.class)) {
+            return null;
+        }
+        return teachersService.getAll(probe, filter, pageSize, pageNumber, total);
+    }
+
+    @Operation(summary = "Scroll teachers", description = "Retrieves a keyset page of teachers ordered by name and ID. Pass the returned nextCursor to get the following page. The total is only counted for the first page unless requested with total.")
+    @GetMapping("/scroll")
+    public PageResult<TeacherDTO> scroll(@RequestBody(required = false) Teacher probe,
+            @RequestParam(required = false) Integer pageSize,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) TotalMode total,
+            WebRequest request) {
+        if (conditionalGet.notModified(request, Arrays.asList(probe, pageSize, cursor, total),
+                Teacher.class, Course.class)) {
+            return null;
+        }
+        return teachersService.scroll(probe, pageSize, cursor, total);
+    }
+
+    @Operation(summary = "Search teachers by name", description = "Returns teachers whose names match the query, best first. Words match as prefixes in any order and small typos are tolerated. Optionally restricted to a group and an age range.")
+    @GetMapping("/search")
+    public List<NameMatch> search(@RequestParam String q,
+            @RequestParam(required = false) String group,
+            @RequestParam(required = false) Integer minAge,
+            @RequestParam(required = false) Integer maxAge,
+            @RequestParam(required = false) Integer limit) {
+        return teachersService.search(q, group, minAge, maxAge, limit);
+    }
+
+    @Operation(summary = "Export all teachers", description = "Streams every teacher as newline-delimited JSON, one teacher per line, or as a sequence of Smile or CBOR values when the Accept header asks for one.")
+    @GetMapping(value = "/export", produces = { MediaType.APPLICATION_NDJSON_VALUE, APPLICATION_SMILE_VALUE,
+            MediaType.APPLICATION_CBOR_VALUE })
+    public void export(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        exportWriter.write(request, response, teachersService::exportAll);
+    }
+
+    @Operation(summary = "Import teachers", description = "Creates teachers from newline-delimited JSON or CSV with a name,age,group header. Rows that fail are reported by line number without aborting the import.")
+    @PostMapping(value = "/import", consumes = { MediaType.APPLICATION_NDJSON_VALUE, "text/csv" })
+    public ImportResult importAll(HttpServletRequest request) throws IOException {
+        return importService.importTeachers(request.getInputStream(), MediaType.parseMediaType(request.getContentType()));
     }
 
     @Operation(summary = "Add a new teacher", description = "Creates a new teacher in the system.")
@@ -57,4 +123,10 @@ public class TeachersController {
         teachersService.delete(id);
     }
 
+    @DeleteMapping
+    @Operation(summary = "Delete teachers in bulk", description = "Deletes the teachers with the given IDs in a few set-based statements and reports DELETED or NOT_FOUND for every ID. Their course memberships are removed as well.")
+    public DeleteResult deleteAll(@RequestBody List<UUID> ids) {
+        return teachersService.deleteAll(ids);
+    }
+
 }
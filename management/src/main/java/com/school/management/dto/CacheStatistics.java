@@ -0,0 +1,17 @@
+package com.school.management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheStatistics {
+    String region;
+    long hits;
+    long misses;
+    long puts;
+}
@@ -0,0 +1,19 @@
+package com.school.management.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * One entry of the change log. For students, teachers and courses {@code id} is the
+ * changed row and {@code data} its current state, or {@code null} once it is gone.
+ * For enrollments and assignments {@code id} is the member and {@code courseId} the
+ * course. {@code deleted} marks a tombstone: the row was deleted or the membership
+ * removed.
+ */
+public record Change(long sequence, ChangeType type, UUID id, UUID courseId, boolean deleted, Instant changedAt,
+        Object data) {
+
+    public Change withData(Object data) {
+        return new Change(sequence, type, id, courseId, deleted, changedAt, data);
+    }
+}
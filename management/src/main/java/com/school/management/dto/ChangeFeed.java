@@ -0,0 +1,10 @@
+package com.school.management.dto;
+
+import java.util.List;
+
+/**
+ * A page of the change log in sequence order. Pass {@code next} as {@code since} to
+ * get the following page; {@code hasMore} tells whether it is already available.
+ */
+public record ChangeFeed(List<Change> changes, long next, boolean hasMore) {
+}
@@ -0,0 +1,9 @@
+package com.school.management.dto;
+
+/**
+ * What a {@link Change} is about: a student, teacher or course, or a student's
+ * enrollment in or a teacher's assignment to a course.
+ */
+public enum ChangeType {
+    STUDENT, TEACHER, COURSE, ENROLLMENT, ASSIGNMENT
+}
@@ -0,0 +1,21 @@
+package com.school.management.dto;
+
+import com.school.management.models.CourseType;
+
+/**
+ * Filter of the course listing, bound from query parameters. Every field is optional.
+ * {@code sort} is one of {@code id}, {@code name} and {@code courseType}, optionally
+ * followed by {@code ,asc} or {@code ,desc}, and defaults to {@code id}.
+ */
+public record CourseFilter(String name, CourseType courseType, String sort) {
+
+    /** The filter of a listing without query parameters. */
+    public static final CourseFilter NONE = new CourseFilter(null, null, null);
+
+    /**
+     * Returns whether the filter has no conditions, so it matches every course.
+     */
+    public boolean matchesAll() {
+        return name == null && courseType == null;
+    }
+}
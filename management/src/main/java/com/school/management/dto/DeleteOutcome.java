@@ -0,0 +1,16 @@
+package com.school.management.dto;
+
+/**
+ * What happened to one ID of a batch delete.
+ */
+public enum DeleteOutcome {
+
+    /** The row existed and was deleted. */
+    DELETED,
+
+    /** No row has this ID. */
+    NOT_FOUND,
+
+    /** The row is still referenced, e.g. a course with enrolled members, and was kept. */
+    IN_USE
+}
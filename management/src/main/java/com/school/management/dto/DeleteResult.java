@@ -0,0 +1,30 @@
+package com.school.management.dto;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Outcome of a batch delete: how many rows were {@code deleted} and the
+ * {@link DeleteOutcome} of every requested ID, in request order.
+ */
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeleteResult {
+    int deleted;
+    Map<UUID, DeleteOutcome> outcomes;
+
+    public List<UUID> deletedIds() {
+        return outcomes.entrySet().stream()
+                .filter(outcome -> outcome.getValue() == DeleteOutcome.DELETED)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+}
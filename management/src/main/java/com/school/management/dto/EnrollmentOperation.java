@@ -0,0 +1,27 @@
+package com.school.management.dto;
+
+import java.util.UUID;
+
+/**
+ * An enrollment accepted with {@code async=true}. It stays {@code QUEUED} until the
+ * queue flushes the requests of its course, and then carries the {@code result} once
+ * {@code APPLIED} or the {@code error} once {@code FAILED}.
+ */
+public record EnrollmentOperation(UUID id, UUID courseId, Status status, EnrollmentResult result, String error) {
+
+    public enum Status {
+        QUEUED, APPLIED, FAILED
+    }
+
+    public static EnrollmentOperation queued(UUID courseId) {
+        return new EnrollmentOperation(UUID.randomUUID(), courseId, Status.QUEUED, null, null);
+    }
+
+    public EnrollmentOperation applied(EnrollmentResult result) {
+        return new EnrollmentOperation(id, courseId, Status.APPLIED, result, null);
+    }
+
+    public EnrollmentOperation failed(String error) {
+        return new EnrollmentOperation(id, courseId, Status.FAILED, null, error);
+    }
+}
@@ -0,0 +1,21 @@
+package com.school.management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Outcome of enrolling students or assigning teachers to a course.
+ * {@code added} members were newly linked, {@code skipped} were already linked and
+ * {@code unknown} IDs did not match any student or teacher.
+ */
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class EnrollmentResult {
+    int added;
+    int skipped;
+    int unknown;
+}
@@ -0,0 +1,24 @@
+package com.school.management.dto;
+
+import java.util.Map;
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Student counts for dashboards: the total, per course, per group and per age.
+ * Students without a group or age are only part of the total.
+ */
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class EnrollmentStatistics {
+    long students;
+    Map<UUID, Long> studentsPerCourse;
+    Map<String, Long> studentsPerGroup;
+    Map<Integer, Long> studentsPerAge;
+}
@@ -0,0 +1,38 @@
+package com.school.management.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Outcome of a bulk import. Only the first {@link #MAX_REPORTED_ERRORS} row
+ * errors are listed; {@code failed} counts all of them.
+ */
+@Setter
+@Getter
+@NoArgsConstructor
+public class ImportResult {
+
+    public static final int MAX_REPORTED_ERRORS = 1000;
+
+    long imported;
+    long failed;
+    List<RowError> errors = new ArrayList<>();
+
+    public void addImported(long count) {
+        imported += count;
+    }
+
+    public void addError(long line, String message) {
+        failed++;
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(new RowError(line, message));
+        }
+    }
+
+    public record RowError(long line, String message) {
+    }
+}
@@ -0,0 +1,7 @@
+package com.school.management.dto;
+
+/**
+ * A student or teacher read from an import file.
+ */
+public record ImportRow(String name, Integer age, String group) {
+}
@@ -0,0 +1,22 @@
+package com.school.management.dto;
+
+import java.util.UUID;
+
+/**
+ * Filter of the student and teacher listings, bound from query parameters. Every
+ * field is optional. {@code sort} is one of {@code id}, {@code name}, {@code age} and
+ * {@code group}, optionally followed by {@code ,asc} or {@code ,desc}, and defaults to
+ * {@code id}.
+ */
+public record MemberFilter(String name, String group, Integer minAge, Integer maxAge, UUID courseId, String sort) {
+
+    /** The filter of a listing without query parameters. */
+    public static final MemberFilter NONE = new MemberFilter(null, null, null, null, null, null);
+
+    /**
+     * Returns whether the filter has no conditions, so it matches every member.
+     */
+    public boolean matchesAll() {
+        return name == null && group == null && minAge == null && maxAge == null && courseId == null;
+    }
+}
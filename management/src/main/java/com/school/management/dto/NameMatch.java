@@ -0,0 +1,11 @@
+package com.school.management.dto;
+
+import java.util.UUID;
+
+/**
+ * A student or teacher found by name search. Higher scores rank first: above 1 every
+ * word of the query starts a word of the name, below 1 the name only shares most of
+ * the query's letter sequences, as with a typo.
+ */
+public record NameMatch(UUID id, String name, String group, Integer age, double score) {
+}
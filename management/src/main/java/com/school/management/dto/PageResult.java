@@ -2,6 +2,8 @@ package com.school.management.dto;
 
 import java.util.List;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -11,7 +13,18 @@ import lombok.Setter;
 @Getter
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class PageResult<T> {
     List<T> items;
-    long total;
+    Long total;
+    String nextCursor;
+    Boolean hasNext;
+
+    public PageResult(List<T> items, Long total) {
+        this(items, total, null, null);
+    }
+
+    public PageResult(List<T> items, Long total, String nextCursor) {
+        this(items, total, nextCursor, null);
+    }
 }
@@ -0,0 +1,10 @@
+package com.school.management.dto;
+
+import java.util.UUID;
+
+/**
+ * A student with one of its courses, or with a {@code null} course if it takes
+ * none.
+ */
+public record StudentMembership(UUID studentId, String group, Integer age, UUID courseId) {
+}
@@ -0,0 +1,19 @@
+package com.school.management.dto;
+
+/**
+ * How the {@code total} of a {@link PageResult} is filled in.
+ */
+public enum TotalMode {
+
+    /** Count the matching rows on every request. */
+    EXACT,
+
+    /**
+     * Report a cached row count of the whole table, kept up to date on writes and
+     * recounted in the background. Filtered listings fall back to an exact count.
+     */
+    APPROXIMATE,
+
+    /** Skip the count and only report whether another page follows. */
+    NONE
+}
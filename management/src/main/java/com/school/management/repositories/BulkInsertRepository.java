@@ -0,0 +1,54 @@
+package com.school.management.repositories;
+
+import java.sql.Types;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.school.management.dto.ImportRow;
+import com.school.management.models.TimeOrderedUuidGenerator;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Inserts imported rows with plain JDBC batches, bypassing the persistence context,
+ * and returns the IDs generated for them.
+ */
+@Repository
+@RequiredArgsConstructor
+public class BulkInsertRepository {
+
+    private static final String INSERT_STUDENT = "INSERT INTO students (id, name, age, student_group) VALUES (?, ?, ?, ?)";
+    private static final String INSERT_TEACHER = "INSERT INTO teachers (id, name, age, teacher_group) VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public List<UUID> insertStudents(List<ImportRow> rows) {
+        return insert(INSERT_STUDENT, rows);
+    }
+
+    public List<UUID> insertTeachers(List<ImportRow> rows) {
+        return insert(INSERT_TEACHER, rows);
+    }
+
+    private List<UUID> insert(String sql, List<ImportRow> rows) {
+        List<UUID> ids = rows.stream().map(row -> TimeOrderedUuidGenerator.next()).toList();
+        List<Integer> indexes = IntStream.range(0, rows.size()).boxed().toList();
+        jdbcTemplate.batchUpdate(sql, indexes, rows.size(), (statement, index) -> {
+            ImportRow row = rows.get(index);
+            statement.setObject(1, ids.get(index));
+            statement.setString(2, row.name());
+            if (row.age() == null) {
+                statement.setNull(3, Types.INTEGER);
+            } else {
+                statement.setInt(3, row.age());
+            }
+            statement.setString(4, row.group());
+        });
+        return ids;
+    }
+
+}
@@ -0,0 +1,89 @@
+package com.school.management.repositories;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.school.management.constants.Constants;
+import com.school.management.dto.Change;
+import com.school.management.dto.ChangeType;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Reads and writes the {@code change_log} table with plain JDBC, in the transaction
+ * of the caller.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ChangeLogRepository {
+
+    private static final String NEXT_SEQUENCE = "SELECT NEXT VALUE FOR change_seq";
+
+    private static final String INSERT = """
+            INSERT INTO change_log (seq, change_type, entity_id, course_id, deleted)
+            VALUES (NEXT VALUE FOR change_seq, ?, ?, ?, ?)
+            """;
+
+    private static final String SELECT_BETWEEN = """
+            SELECT seq, change_type, entity_id, course_id, deleted, changed_at FROM change_log
+            WHERE seq > ? AND seq < ? ORDER BY seq LIMIT ?
+            """;
+
+    private static final String DELETE_SUPERSEDED = """
+            DELETE FROM change_log c WHERE EXISTS (
+                SELECT 1 FROM change_log n
+                WHERE n.entity_id = c.entity_id AND n.seq > c.seq AND n.change_type = c.change_type
+                AND (n.course_id = c.course_id OR n.course_id IS NULL AND c.course_id IS NULL))
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Draws a number from the change sequence without recording a change.
+     */
+    public long nextSequence() {
+        return jdbcTemplate.queryForObject(NEXT_SEQUENCE, Long.class);
+    }
+
+    /**
+     * Records a change of every given ID, each with its own sequence number.
+     */
+    public void insert(ChangeType type, Collection<UUID> ids, UUID courseId, boolean deleted) {
+        jdbcTemplate.batchUpdate(INSERT, ids, Constants.MAX_IDS_PER_STATEMENT, (statement, id) -> {
+            statement.setString(1, type.name());
+            statement.setObject(2, id);
+            statement.setObject(3, courseId);
+            statement.setBoolean(4, deleted);
+        });
+    }
+
+    /**
+     * Returns up to {@code limit} changes numbered above {@code after} and below
+     * {@code before}, in sequence order and without data.
+     */
+    public List<Change> findBetween(long after, long before, int limit) {
+        return jdbcTemplate.query(SELECT_BETWEEN, (row, rowNumber) -> new Change(
+                row.getLong(1),
+                ChangeType.valueOf(row.getString(2)),
+                row.getObject(3, UUID.class),
+                row.getObject(4, UUID.class),
+                row.getBoolean(5),
+                row.getTimestamp(6).toInstant(),
+                null), after, before, limit);
+    }
+
+    /**
+     * Deletes the changes that a later change of the same row or membership
+     * supersedes.
+     *
+     * @return The number of deleted changes.
+     */
+    public int deleteSuperseded() {
+        return jdbcTemplate.update(DELETE_SUPERSEDED);
+    }
+
+}
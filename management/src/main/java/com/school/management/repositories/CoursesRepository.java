@@ -1,11 +1,44 @@
 package com.school.management.repositories;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.school.management.models.Course;
 
-public interface CoursesRepository extends JpaRepository<Course, UUID> {
+public interface CoursesRepository
+        extends JpaRepository<Course, UUID>, JpaSpecificationExecutor<Course>, CoursesRepositoryCustom {
+
+    /**
+     * Returns the current version of the course, which doubles as a cheap existence check.
+     */
+    @Query("select c.version from Course c where c.id = :id")
+    Optional<Long> findVersionById(@Param("id") UUID id);
+
+    @Query("select c.id from Course c where c.id in :ids")
+    List<UUID> findExistingIds(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Returns the given courses that have neither students nor teachers, checked with
+     * {@code not exists} against the join tables rather than by loading the rosters.
+     */
+    @Query("select c.id from Course c where c.id in :ids and c.students is empty and c.teachers is empty")
+    List<UUID> findUnusedIds(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Deletes the given courses that have neither students nor teachers.
+     *
+     * @return The number of deleted courses.
+     */
+    @Modifying
+    @Query("delete from Course c where c.id in :ids and c.students is empty and c.teachers is empty")
+    int deleteUnusedByIds(@Param("ids") Collection<UUID> ids);
 
 }
@@ -0,0 +1,30 @@
+package com.school.management.repositories;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import com.school.management.dto.CourseFilter;
+import com.school.management.models.Course;
+
+public interface CoursesRepositoryCustom {
+
+    /**
+     * Reads a page of courses matching the query-parameter filter plus one row past
+     * it, in the order of the pageable, through a query string shared by every filter
+     * with the same conditions and sort order. The sort of the filter itself is ignored.
+     *
+     * @param filter   The conditions.
+     * @param pageable The offset, size and sort order of the page.
+     * @return The matching courses of the page and whether more follow.
+     */
+    Slice<Course> findSlice(CourseFilter filter, Pageable pageable);
+
+    /**
+     * Counts the courses matching the query-parameter filter.
+     *
+     * @param filter The conditions.
+     * @return The number of matching courses.
+     */
+    long countMatching(CourseFilter filter);
+
+}
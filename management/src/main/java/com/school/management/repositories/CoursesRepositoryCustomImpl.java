@@ -0,0 +1,35 @@
+package com.school.management.repositories;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+import com.school.management.dto.CourseFilter;
+import com.school.management.models.Course;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+public class CoursesRepositoryCustomImpl implements CoursesRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Slice<Course> findSlice(CourseFilter filter, Pageable pageable) {
+        List<Course> rows = FilterQueries.selectCourses(entityManager, filter, pageable.getSort())
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList();
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? rows.subList(0, pageable.getPageSize()) : rows, pageable, hasNext);
+    }
+
+    @Override
+    public long countMatching(CourseFilter filter) {
+        return FilterQueries.countCourses(entityManager, filter).getSingleResult();
+    }
+
+}
@@ -0,0 +1,13 @@
+package com.school.management.repositories;
+
+import org.springframework.data.domain.Example;
+import org.springframework.data.jpa.convert.QueryByExamplePredicateBuilder;
+import org.springframework.data.jpa.domain.Specification;
+
+public class ExampleSpecifications {
+
+    public static <T> Specification<T> matching(Example<T> example) {
+        return (root, query, cb) -> QueryByExamplePredicateBuilder.getPredicate(root, cb, example);
+    }
+
+}
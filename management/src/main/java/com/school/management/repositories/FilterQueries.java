@@ -0,0 +1,143 @@
+package com.school.management.repositories;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.data.domain.Sort;
+
+import com.school.management.dto.CourseFilter;
+import com.school.management.dto.MemberFilter;
+import com.school.management.models.Course;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.metamodel.Attribute;
+
+/**
+ * JPQL for the query-parameter filters of the listings. A filter compiles to one of a
+ * small set of query strings, chosen by the conditions present and the sort order,
+ * with the values bound as parameters. Each string is built once and reused, so
+ * Hibernate finds it in its query plan cache and skips parsing and SQL translation,
+ * which criteria queries and example probes go through on every request.
+ */
+final class FilterQueries {
+
+    private static final List<Clause> MEMBER_CLAUSES = List.of(
+            new Clause("name", "m.name = :name"),
+            new Clause("group", "m.group = :group"),
+            new Clause("minAge", "m.age >= :minAge"),
+            new Clause("maxAge", "m.age <= :maxAge"),
+            new Clause("courseId", "m.id in (select x.id from Course c join c.%s x where c.id = :courseId)"));
+
+    private static final List<Clause> COURSE_CLAUSES = List.of(
+            new Clause("name", "m.name = :name"),
+            new Clause("courseType", "m.courseType = :courseType"));
+
+    private static final Map<Shape, String> COMPILED = new ConcurrentHashMap<>();
+
+    private FilterQueries() {
+    }
+
+    /**
+     * A condition on one filter field. A {@code %s} in the condition stands for the
+     * collection of a course holding the entity, so the course's members are read
+     * from the join table alone.
+     */
+    private record Clause(String parameter, String condition) {
+    }
+
+    /**
+     * Everything a query string depends on. Filter values are not part of it.
+     */
+    private record Shape(Class<?> type, String select, int conditions, String orderBy) {
+    }
+
+    /**
+     * Selects the id, name, age and group of the students or teachers matching the
+     * filter. The sort must hold properties of the entity; callers check them against
+     * what clients may sort by, since each distinct sort is a query string of its own.
+     */
+    static TypedQuery<Tuple> selectMembers(EntityManager entityManager, Class<?> type, MemberFilter filter,
+            Sort sort) {
+        return query(entityManager, Tuple.class, type, "m.id, m.name, m.age, m.group", MEMBER_CLAUSES,
+                memberValues(filter), orderBy(sort));
+    }
+
+    static TypedQuery<Long> countMembers(EntityManager entityManager, Class<?> type, MemberFilter filter) {
+        return query(entityManager, Long.class, type, "count(m)", MEMBER_CLAUSES, memberValues(filter), null);
+    }
+
+    static TypedQuery<Course> selectCourses(EntityManager entityManager, CourseFilter filter, Sort sort) {
+        return query(entityManager, Course.class, Course.class, "m", COURSE_CLAUSES, courseValues(filter),
+                orderBy(sort));
+    }
+
+    static TypedQuery<Long> countCourses(EntityManager entityManager, CourseFilter filter) {
+        return query(entityManager, Long.class, Course.class, "count(m)", COURSE_CLAUSES, courseValues(filter), null);
+    }
+
+    private static Object[] memberValues(MemberFilter filter) {
+        return new Object[] { filter.name(), filter.group(), filter.minAge(), filter.maxAge(), filter.courseId() };
+    }
+
+    private static Object[] courseValues(CourseFilter filter) {
+        return new Object[] { filter.name(), filter.courseType() };
+    }
+
+    private static <T> TypedQuery<T> query(EntityManager entityManager, Class<T> resultType, Class<?> type,
+            String select, List<Clause> clauses, Object[] values, String orderBy) {
+        int conditions = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                conditions |= 1 << i;
+            }
+        }
+
+        String jpql = COMPILED.computeIfAbsent(new Shape(type, select, conditions, orderBy), shape -> {
+            String entity = type.getSimpleName();
+            StringJoiner where = new StringJoiner(" and ", " where ", "").setEmptyValue("");
+            for (int i = 0; i < clauses.size(); i++) {
+                if ((shape.conditions() & 1 << i) != 0) {
+                    where.add(clauses.get(i).condition().formatted(members(entityManager, type)));
+                }
+            }
+            return "select " + select + " from " + entity + " m" + where
+                    + (orderBy == null ? "" : " order by " + orderBy);
+        });
+
+        TypedQuery<T> query = entityManager.createQuery(jpql, resultType);
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                query.setParameter(clauses.get(i).parameter(), values[i]);
+            }
+        }
+        return query;
+    }
+
+    /**
+     * Returns the name of the course collection holding the given entity, e.g.
+     * {@code students}.
+     */
+    private static String members(EntityManager entityManager, Class<?> type) {
+        return entityManager.getMetamodel().entity(Course.class).getPluralAttributes().stream()
+                .filter(attribute -> attribute.getElementType().getJavaType() == type)
+                .map(Attribute::getName)
+                .findFirst()
+                .orElse(null);
+    }
+
+    private static String orderBy(Sort sort) {
+        if (sort.isUnsorted()) {
+            return null;
+        }
+        StringJoiner orderBy = new StringJoiner(", ");
+        sort.forEach(order -> orderBy.add("m." + order.getProperty() + " "
+                + order.getDirection().name().toLowerCase(Locale.ROOT)));
+        return orderBy.toString();
+    }
+
+}
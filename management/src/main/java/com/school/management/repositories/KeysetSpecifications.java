@@ -0,0 +1,43 @@
+package com.school.management.repositories;
+
+import java.util.UUID;
+
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.data.domain.Example;
+import org.springframework.data.jpa.convert.QueryByExamplePredicateBuilder;
+import org.springframework.data.jpa.domain.Specification;
+
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+
+public class KeysetSpecifications {
+
+    /**
+     * Matches the example probe and seeks past the given cursor, ordering by
+     * {@code name} (nulls first) and then {@code id}. A {@code null} cursor starts
+     * from the first row.
+     */
+    public static <T> Specification<T> matchingAfter(Example<T> example, KeysetCursor cursor) {
+        return (root, query, cb) -> {
+            Path<String> name = root.get("name");
+            Path<UUID> id = root.get("id");
+
+            if (!Long.class.equals(query.getResultType())) {
+                query.orderBy(((HibernateCriteriaBuilder) cb).asc(name, true), cb.asc(id));
+            }
+
+            Predicate probe = QueryByExamplePredicateBuilder.getPredicate(root, cb, example);
+            if (cursor == null) {
+                return probe;
+            }
+
+            Predicate seek = cursor.name() == null
+                    ? cb.or(cb.isNotNull(name), cb.and(cb.isNull(name), cb.greaterThan(id, cursor.id())))
+                    : cb.or(cb.greaterThan(name, cursor.name()),
+                            cb.and(cb.equal(name, cursor.name()), cb.greaterThan(id, cursor.id())));
+
+            return probe == null ? seek : cb.and(probe, seek);
+        };
+    }
+
+}
@@ -1,11 +1,105 @@
 package com.school.management.repositories;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import com.school.management.dto.StudentMembership;
 import com.school.management.models.Student;
 
-public interface StudentsRepository extends JpaRepository<Student, UUID>, JpaSpecificationExecutor<Student> {
+import jakarta.persistence.QueryHint;
+
+public interface StudentsRepository
+        extends JpaRepository<Student, UUID>, JpaSpecificationExecutor<Student>, StudentsRepositoryCustom {
+
+    /**
+     * Returns the current version of the student, which doubles as a cheap existence check.
+     */
+    @Query("select s.version from Student s where s.id = :id")
+    Optional<Long> findVersionById(@Param("id") UUID id);
+
+    @Query("select s.id from Student s where s.id in :ids")
+    List<UUID> findExistingIds(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Returns one row per course membership of the given students, and one row with
+     * a {@code null} course for students that take none.
+     */
+    @Query("""
+            select new com.school.management.dto.StudentMembership(s.id, s.group, s.age, c.id)
+            from Student s left join s.courses c where s.id in :ids
+            """)
+    List<StudentMembership> findMemberships(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Deletes the given students without loading them. Hibernate removes their course
+     * memberships from {@code student_course} with one statement before deleting
+     * the rows.
+     *
+     * @return The number of deleted students.
+     */
+    @Modifying
+    @Query("delete from Student s where s.id in :ids")
+    int deleteAllByIds(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Streams all students as read-only entities, fetching rows from the database in
+     * chunks instead of materializing the whole result.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select s from Student s")
+    Stream<Student> streamAll();
+
+    /**
+     * Returns which of the given students are already linked to the course.
+     */
+    @Query("select s.id from Student s join s.courses c where c.id = :courseId and s.id in :ids")
+    List<UUID> findIdsLinkedTo(@Param("courseId") UUID courseId, @Param("ids") Collection<UUID> ids);
+
+    /**
+     * Links the given students to the course, skipping IDs that do not exist or are
+     * already linked. The merge inserts only missing rows, so repeating it is
+     * harmless; only two merges racing to insert the same row conflict.
+     *
+     * The statement declares only the join table as its query space, so Hibernate
+     * does not drop unrelated second-level cache regions. Callers evict the cached
+     * roster of the course.
+     *
+     * @return The number of newly linked students.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "student_course"))
+    @Query(value = """
+            MERGE INTO student_course l
+            USING (SELECT x.id FROM students x WHERE x.id IN (:ids)) m
+            ON l.student_id = m.id AND l.course_id = :courseId
+            WHEN NOT MATCHED THEN INSERT (student_id, course_id) VALUES (m.id, :courseId)
+            """, nativeQuery = true)
+    int linkToCourse(@Param("courseId") UUID courseId, @Param("ids") Collection<UUID> ids);
+
+    /**
+     * Unlinks the given students from the course. IDs that are unknown or not linked
+     * are skipped, so repeating the call is harmless. Like {@link #linkToCourse}, the
+     * statement only declares the join table as its query space.
+     *
+     * @return The number of unlinked students.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "student_course"))
+    @Query(value = "DELETE FROM student_course WHERE course_id = :courseId AND student_id IN (:ids)", nativeQuery = true)
+    int unlinkFromCourse(@Param("courseId") UUID courseId, @Param("ids") Collection<UUID> ids);
+
 }
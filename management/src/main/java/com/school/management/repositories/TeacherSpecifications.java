@@ -4,16 +4,28 @@ import java.util.UUID;
 
 import org.springframework.data.jpa.domain.Specification;
 
+import com.school.management.models.Course;
 import com.school.management.models.Teacher;
 
 import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
 
 public class TeacherSpecifications {
 
+    /**
+     * Matches teachers of the course through a semi-join ({@code id in (select ...)})
+     * rather than a join, so every teacher matches at most once and paged or counted
+     * roster queries need no {@code distinct}. The subquery starts from the course, so
+     * it reads the teacher IDs from the join table without joining teachers again.
+     */
     public static Specification<Teacher> hasCourseId(UUID courseId) {
         return (root, query, cb) -> {
-            Join<Object, Object> courseJoin = root.join("courses");
-            return cb.equal(courseJoin.get("id"), courseId);
+            Subquery<UUID> members = query.subquery(UUID.class);
+            Root<Course> course = members.from(Course.class);
+            Join<Course, Teacher> member = course.join("teachers");
+            members.select(member.get("id")).where(cb.equal(course.get("id"), courseId));
+            return root.get("id").in(members);
         };
     }
 
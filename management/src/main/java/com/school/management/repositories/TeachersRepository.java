@@ -1,11 +1,97 @@
 package com.school.management.repositories;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import com.school.management.models.Teacher;
 
-public interface TeachersRepository extends JpaRepository<Teacher, UUID>, JpaSpecificationExecutor<Teacher> {
+import jakarta.persistence.QueryHint;
+
+public interface TeachersRepository
+        extends JpaRepository<Teacher, UUID>, JpaSpecificationExecutor<Teacher>, TeachersRepositoryCustom {
+
+    /**
+     * Returns the current version of the teacher, which doubles as a cheap existence check.
+     */
+    @Query("select t.version from Teacher t where t.id = :id")
+    Optional<Long> findVersionById(@Param("id") UUID id);
+
+    @Query("select t.id from Teacher t where t.id in :ids")
+    List<UUID> findExistingIds(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Deletes the given teachers without loading them. Hibernate removes their course
+     * memberships from {@code teacher_course} with one statement before deleting
+     * the rows.
+     *
+     * @return The number of deleted teachers.
+     */
+    @Modifying
+    @Query("delete from Teacher t where t.id in :ids")
+    int deleteAllByIds(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Streams all teachers as read-only entities, fetching rows from the database in
+     * chunks instead of materializing the whole result.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select t from Teacher t")
+    Stream<Teacher> streamAll();
+
+    @Query("select c.id from Teacher t join t.courses c where t.id = :id")
+    List<UUID> findCourseIds(@Param("id") UUID id);
+
+    /**
+     * Returns which of the given teachers are already linked to the course.
+     */
+    @Query("select t.id from Teacher t join t.courses c where c.id = :courseId and t.id in :ids")
+    List<UUID> findIdsLinkedTo(@Param("courseId") UUID courseId, @Param("ids") Collection<UUID> ids);
+
+    /**
+     * Links the given teachers to the course, skipping IDs that do not exist or are
+     * already linked. The merge inserts only missing rows, so repeating it is
+     * harmless; only two merges racing to insert the same row conflict.
+     *
+     * The statement declares only the join table as its query space, so Hibernate
+     * does not drop unrelated second-level cache regions. Callers evict the cached
+     * roster of the course.
+     *
+     * @return The number of newly linked teachers.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "teacher_course"))
+    @Query(value = """
+            MERGE INTO teacher_course l
+            USING (SELECT x.id FROM teachers x WHERE x.id IN (:ids)) m
+            ON l.teacher_id = m.id AND l.course_id = :courseId
+            WHEN NOT MATCHED THEN INSERT (teacher_id, course_id) VALUES (m.id, :courseId)
+            """, nativeQuery = true)
+    int linkToCourse(@Param("courseId") UUID courseId, @Param("ids") Collection<UUID> ids);
+
+    /**
+     * Unlinks the given teachers from the course. IDs that are unknown or not linked
+     * are skipped, so repeating the call is harmless. Like {@link #linkToCourse}, the
+     * statement only declares the join table as its query space.
+     *
+     * @return The number of unlinked teachers.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "teacher_course"))
+    @Query(value = "DELETE FROM teacher_course WHERE course_id = :courseId AND teacher_id IN (:ids)", nativeQuery = true)
+    int unlinkFromCourse(@Param("courseId") UUID courseId, @Param("ids") Collection<UUID> ids);
+
 }
@@ -0,0 +1,64 @@
+package com.school.management.repositories;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.school.management.dto.MemberFilter;
+import com.school.management.dto.TeacherDTO;
+import com.school.management.models.Teacher;
+
+public interface TeachersRepositoryCustom {
+
+    /**
+     * Reads a page of teachers matching the specification straight into DTOs, without
+     * hydrating managed entities. The courses of the whole page are read with one
+     * additional query.
+     *
+     * @param spec     The specification to filter and order by.
+     * @param pageable The offset and size of the page.
+     * @return The matching teacher DTOs with their courses.
+     */
+    List<TeacherDTO> findDTOs(Specification<Teacher> spec, Pageable pageable);
+
+    /**
+     * Reads a page like {@link #findDTOs} plus one row past it, so whether another
+     * page follows is known without counting the matching teachers.
+     *
+     * @param spec     The specification to filter and order by.
+     * @param pageable The offset and size of the page.
+     * @return The matching teacher DTOs of the page and whether more follow.
+     */
+    Slice<TeacherDTO> findDTOSlice(Specification<Teacher> spec, Pageable pageable);
+
+    /**
+     * Reads a page of teachers matching the query-parameter filter, in the order of the
+     * pageable, through a query string shared by every filter with the same conditions
+     * and sort order. The sort of the filter itself is ignored.
+     *
+     * @param filter   The conditions.
+     * @param pageable The offset, size and sort order of the page.
+     * @return The matching teacher DTOs with their courses.
+     */
+    List<TeacherDTO> findDTOs(MemberFilter filter, Pageable pageable);
+
+    /**
+     * Reads a page like {@link #findDTOs(MemberFilter, Pageable)} plus one row past it.
+     *
+     * @param filter   The conditions.
+     * @param pageable The offset, size and sort order of the page.
+     * @return The matching teacher DTOs of the page and whether more follow.
+     */
+    Slice<TeacherDTO> findDTOSlice(MemberFilter filter, Pageable pageable);
+
+    /**
+     * Counts the teachers matching the query-parameter filter.
+     *
+     * @param filter The conditions.
+     * @return The number of matching teachers.
+     */
+    long countMatching(MemberFilter filter);
+
+}
@@ -0,0 +1,128 @@
+package com.school.management.repositories;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import com.school.management.dto.CourseDTO;
+import com.school.management.dto.MemberFilter;
+import com.school.management.dto.TeacherDTO;
+import com.school.management.models.CourseType;
+import com.school.management.models.Teacher;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+public class TeachersRepositoryCustomImpl implements TeachersRepositoryCustom {
+
+    private static final String COURSES_QUERY = "select t.id, c.id, c.name, c.courseType from Teacher t join t.courses c where t.id in :ids";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TeacherDTO> findDTOs(Specification<Teacher> spec, Pageable pageable) {
+        return findDTOs(spec, pageable, pageable.isPaged() ? pageable.getPageSize() : 0);
+    }
+
+    @Override
+    public Slice<TeacherDTO> findDTOSlice(Specification<Teacher> spec, Pageable pageable) {
+        List<TeacherDTO> rows = findDTOs(spec, pageable, pageable.getPageSize() + 1);
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? rows.subList(0, pageable.getPageSize()) : rows, pageable, hasNext);
+    }
+
+    @Override
+    public List<TeacherDTO> findDTOs(MemberFilter filter, Pageable pageable) {
+        return findDTOs(filter, pageable, pageable.getPageSize());
+    }
+
+    @Override
+    public Slice<TeacherDTO> findDTOSlice(MemberFilter filter, Pageable pageable) {
+        List<TeacherDTO> rows = findDTOs(filter, pageable, pageable.getPageSize() + 1);
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? rows.subList(0, pageable.getPageSize()) : rows, pageable, hasNext);
+    }
+
+    @Override
+    public long countMatching(MemberFilter filter) {
+        return FilterQueries.countMembers(entityManager, Teacher.class, filter).getSingleResult();
+    }
+
+    private List<TeacherDTO> findDTOs(MemberFilter filter, Pageable pageable, int limit) {
+        return toDTOs(FilterQueries.selectMembers(entityManager, Teacher.class, filter, pageable.getSort())
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(limit)
+                .getResultList());
+    }
+
+    private List<TeacherDTO> findDTOs(Specification<Teacher> spec, Pageable pageable, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Teacher> root = query.from(Teacher.class);
+        query.multiselect(root.get("id"), root.get("name"), root.get("age"), root.get("group"));
+
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+        }
+
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(limit);
+        }
+
+        return toDTOs(typedQuery.getResultList());
+    }
+
+    private List<TeacherDTO> toDTOs(List<Tuple> rows) {
+        List<TeacherDTO> dtos = rows.stream()
+                .map(row -> {
+                    TeacherDTO dto = new TeacherDTO();
+                    dto.setId(row.get(0, UUID.class));
+                    dto.setName(row.get(1, String.class));
+                    dto.setAge(row.get(2, Integer.class));
+                    dto.setGroup(row.get(3, String.class));
+                    return dto;
+                })
+                .toList();
+
+        if (dtos.isEmpty()) {
+            return dtos;
+        }
+
+        Map<UUID, List<CourseDTO>> courses = entityManager.createQuery(COURSES_QUERY, Tuple.class)
+                .setParameter("ids", dtos.stream().map(TeacherDTO::getId).toList())
+                .getResultList().stream()
+                .collect(Collectors.groupingBy(row -> row.get(0, UUID.class),
+                        Collectors.mapping(row -> {
+                            CourseDTO courseDTO = new CourseDTO();
+                            courseDTO.setId(row.get(1, UUID.class));
+                            courseDTO.setName(row.get(2, String.class));
+                            courseDTO.setCourseType(row.get(3, CourseType.class));
+                            return courseDTO;
+                        }, Collectors.toList())));
+
+        dtos.forEach(dto -> dto.setCourses(courses.getOrDefault(dto.getId(), List.of())));
+        return dtos;
+    }
+
+}
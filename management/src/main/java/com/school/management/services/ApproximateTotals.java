@@ -0,0 +1,74 @@
+package com.school.management.services;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.data.domain.Example;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.school.management.models.Course;
+import com.school.management.models.Student;
+import com.school.management.models.Teacher;
+import com.school.management.repositories.CoursesRepository;
+import com.school.management.repositories.StudentsRepository;
+import com.school.management.repositories.TeachersRepository;
+
+/**
+ * Row counts of the students, teachers and courses tables for
+ * {@link com.school.management.dto.TotalMode#APPROXIMATE} listings. A count is read
+ * on first use, adjusted as rows are added and deleted through the services, and
+ * recounted every {@code school.totals.refresh-interval} to correct drift from
+ * rolled back or concurrent writes.
+ */
+@Component
+public class ApproximateTotals {
+
+    private final Map<Class<?>, JpaRepository<?, ?>> repositories;
+
+    private final Map<Class<?>, AtomicLong> totals = new ConcurrentHashMap<>();
+
+    public ApproximateTotals(StudentsRepository studentsRepository, TeachersRepository teachersRepository,
+            CoursesRepository coursesRepository) {
+        this.repositories = Map.of(
+                Student.class, studentsRepository,
+                Teacher.class, teachersRepository,
+                Course.class, coursesRepository);
+    }
+
+    public long get(Class<?> type) {
+        return totals.computeIfAbsent(type, t -> new AtomicLong(repositories.get(t).count())).get();
+    }
+
+    public void adjust(Class<?> type, long delta) {
+        AtomicLong total = totals.get(type);
+        if (total != null) {
+            total.addAndGet(delta);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${school.totals.refresh-interval}",
+            initialDelayString = "${school.totals.refresh-interval}")
+    public void refresh() {
+        totals.forEach((type, total) -> total.set(repositories.get(type).count()));
+    }
+
+    /**
+     * Whether the example matches every row, i.e. its probe sets no property that
+     * query by example would filter on.
+     */
+    public static boolean matchesAll(Example<?> example) {
+        BeanWrapper probe = new BeanWrapperImpl(example.getProbe());
+        return Arrays.stream(probe.getPropertyDescriptors())
+                .filter(property -> property.getReadMethod() != null && !"class".equals(property.getName()))
+                .map(property -> probe.getPropertyValue(property.getName()))
+                .allMatch(value -> value == null || value instanceof Collection);
+    }
+
+}
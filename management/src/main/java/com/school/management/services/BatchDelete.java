@@ -0,0 +1,60 @@
+package com.school.management.services;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.ToIntFunction;
+import java.util.function.UnaryOperator;
+
+import com.school.management.constants.Constants;
+import com.school.management.dto.DeleteOutcome;
+import com.school.management.dto.DeleteResult;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Deletes rows by ID in chunks of set-based statements instead of one entity at a
+ * time, and reports the outcome of every requested ID.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class BatchDelete {
+
+    /**
+     * @param requestedIds The IDs to delete. Nulls and duplicates are ignored.
+     * @param findExisting Returns the IDs of a chunk that exist.
+     * @param findDeletable Returns the existing IDs that are not referenced and may be deleted.
+     * @param delete Deletes the given IDs and returns the number of deleted rows.
+     */
+    static DeleteResult run(List<UUID> requestedIds, UnaryOperator<List<UUID>> findExisting,
+            UnaryOperator<List<UUID>> findDeletable, ToIntFunction<List<UUID>> delete) {
+        List<UUID> ids = requestedIds.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+
+        Map<UUID, DeleteOutcome> outcomes = new LinkedHashMap<>();
+        ids.forEach(id -> outcomes.put(id, DeleteOutcome.NOT_FOUND));
+
+        int deleted = 0;
+        for (int from = 0; from < ids.size(); from += Constants.MAX_IDS_PER_STATEMENT) {
+            List<UUID> chunk = ids.subList(from, Math.min(ids.size(), from + Constants.MAX_IDS_PER_STATEMENT));
+
+            List<UUID> existing = findExisting.apply(chunk);
+            if (existing.isEmpty()) {
+                continue;
+            }
+            existing.forEach(id -> outcomes.put(id, DeleteOutcome.IN_USE));
+
+            List<UUID> deletable = findDeletable.apply(existing);
+            if (!deletable.isEmpty()) {
+                deleted += delete.applyAsInt(deletable);
+                deletable.forEach(id -> outcomes.put(id, DeleteOutcome.DELETED));
+            }
+        }
+
+        return new DeleteResult(deleted, outcomes);
+    }
+}
@@ -0,0 +1,218 @@
+package com.school.management.services;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.school.management.constants.Constants;
+import com.school.management.dto.Change;
+import com.school.management.dto.ChangeFeed;
+import com.school.management.dto.ChangeType;
+import com.school.management.dto.CourseDTO;
+import com.school.management.models.Student;
+import com.school.management.models.Teacher;
+import com.school.management.repositories.ChangeLogRepository;
+import com.school.management.repositories.CoursesRepository;
+import com.school.management.repositories.StudentsRepository;
+import com.school.management.repositories.TeachersRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Numbered log of the changes to students, teachers, courses and course memberships,
+ * so downstream copies sync with {@code GET /changes?since=N} in time proportional to
+ * what changed instead of re-reading every listing. The services record their changes
+ * in the transaction of the write, with tombstones for deletes.
+ * <p>
+ * Sequence numbers are drawn when a change is written, not when it commits, so a
+ * reader could see change 12 while 11 is still uncommitted and then never ask for 11.
+ * Every writing transaction therefore first draws a fence number that it holds until
+ * it completes, and reads stop below the oldest fence still held. Fences are kept in
+ * memory, so this holds while one instance does all the writing.
+ * <p>
+ * Every {@code school.change-log.compact-interval}, changes superseded by a later
+ * change of the same row or membership are deleted. Tombstones are kept.
+ */
+@Component
+@RequiredArgsConstructor
+public class ChangeLog {
+
+    private record Key(ChangeType type, UUID id, UUID courseId) {
+    }
+
+    private final ChangeLogRepository changeLogRepository;
+
+    private final StudentsRepository studentsRepository;
+
+    private final TeachersRepository teachersRepository;
+
+    private final CoursesRepository coursesRepository;
+
+    private final NavigableSet<Long> fences = new TreeSet<>();
+
+    public void changed(ChangeType type, Collection<UUID> ids) {
+        record(type, ids, null, false);
+    }
+
+    public void deleted(ChangeType type, Collection<UUID> ids) {
+        record(type, ids, null, true);
+    }
+
+    public void linked(ChangeType type, UUID courseId, Collection<UUID> memberIds) {
+        record(type, memberIds, courseId, false);
+    }
+
+    public void unlinked(ChangeType type, UUID courseId, Collection<UUID> memberIds) {
+        record(type, memberIds, courseId, true);
+    }
+
+    /**
+     * Records the memberships a member gained and lost between the two sets of
+     * course IDs.
+     */
+    public void memberships(ChangeType type, UUID memberId, Collection<UUID> before, Collection<UUID> after) {
+        Set<UUID> previous = new HashSet<>(before);
+        for (UUID courseId : new HashSet<>(after)) {
+            if (!previous.remove(courseId)) {
+                linked(type, courseId, List.of(memberId));
+            }
+        }
+        previous.forEach(courseId -> unlinked(type, courseId, List.of(memberId)));
+    }
+
+    /**
+     * Returns the changes numbered above {@code since}, at most {@code limit} (by
+     * default and at most {@link Constants#MAX_PAGE_SIZE}) of them. A change that is
+     * superseded later in the same page is left out.
+     * <p>
+     * Unlike the listings, the log and the changed rows are read from the primary even
+     * with a read replica configured, since the fences only hold there.
+     */
+    @Transactional(readOnly = true)
+    public ChangeFeed since(long since, Integer limit) {
+        if (limit == null || limit < 1) {
+            limit = Constants.MAX_PAGE_SIZE;
+        }
+        limit = Math.min(limit, Constants.MAX_PAGE_SIZE);
+
+        long horizon;
+        synchronized (fences) {
+            horizon = fences.isEmpty() ? Long.MAX_VALUE : fences.first();
+        }
+
+        List<Change> rows = changeLogRepository.findBetween(since, horizon, limit + 1);
+        boolean hasMore = rows.size() > limit;
+        rows = rows.subList(0, Math.min(rows.size(), limit));
+        long next = rows.isEmpty() ? since : rows.get(rows.size() - 1).sequence();
+
+        Map<Key, Change> latest = new LinkedHashMap<>();
+        for (Change change : rows) {
+            Key key = new Key(change.type(), change.id(), change.courseId());
+            latest.remove(key);
+            latest.put(key, change);
+        }
+        return new ChangeFeed(withData(latest.values()), next, hasMore);
+    }
+
+    @Scheduled(fixedDelayString = "${school.change-log.compact-interval}",
+            initialDelayString = "${school.change-log.compact-interval}")
+    public int compact() {
+        return changeLogRepository.deleteSuperseded();
+    }
+
+    private void record(ChangeType type, Collection<UUID> ids, UUID courseId, boolean deleted) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Changes must be recorded in the transaction of the write");
+        }
+
+        holdFence();
+        changeLogRepository.insert(type, ids, courseId, deleted);
+    }
+
+    /**
+     * Draws the fence of the current transaction on its first change and releases it
+     * once the transaction commits or rolls back.
+     */
+    private void holdFence() {
+        if (TransactionSynchronizationManager.hasResource(this)) {
+            return;
+        }
+
+        long fence;
+        synchronized (fences) {
+            fence = changeLogRepository.nextSequence();
+            fences.add(fence);
+        }
+        TransactionSynchronizationManager.bindResource(this, fence);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(ChangeLog.this);
+                synchronized (fences) {
+                    fences.remove(fence);
+                }
+            }
+        });
+    }
+
+    /**
+     * Adds the current state of the changed students, teachers and courses, loading
+     * each type with one query.
+     */
+    private List<Change> withData(Collection<Change> changes) {
+        Map<UUID, Student> students = load(changes, ChangeType.STUDENT,
+                ids -> studentsRepository.findAllById(ids), Student::getId);
+        Map<UUID, Teacher> teachers = load(changes, ChangeType.TEACHER,
+                ids -> teachersRepository.findAllById(ids), Teacher::getId);
+        Map<UUID, CourseDTO> courses = load(changes, ChangeType.COURSE,
+                ids -> coursesRepository.findAllById(ids).stream().map(course -> {
+                    CourseDTO dto = new CourseDTO();
+                    dto.setId(course.getId());
+                    dto.setName(course.getName());
+                    dto.setCourseType(course.getCourseType());
+                    return dto;
+                }).toList(), CourseDTO::getId);
+
+        List<Change> result = new ArrayList<>(changes.size());
+        for (Change change : changes) {
+            Object data = change.deleted() ? null : switch (change.type()) {
+                case STUDENT -> students.get(change.id());
+                case TEACHER -> teachers.get(change.id());
+                case COURSE -> courses.get(change.id());
+                case ENROLLMENT, ASSIGNMENT -> null;
+            };
+            result.add(data == null ? change : change.withData(data));
+        }
+        return result;
+    }
+
+    private static <T> Map<UUID, T> load(Collection<Change> changes, ChangeType type,
+            Function<List<UUID>, List<T>> find, Function<T, UUID> id) {
+        List<UUID> ids = changes.stream()
+                .filter(change -> change.type() == type && !change.deleted())
+                .map(Change::id)
+                .toList();
+        return ids.isEmpty()
+                ? Map.of()
+                : find.apply(ids).stream().collect(Collectors.toMap(id, Function.identity()));
+    }
+
+}
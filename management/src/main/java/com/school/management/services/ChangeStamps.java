@@ -0,0 +1,65 @@
+package com.school.management.services;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Change stamps of the students, teachers and courses and of their course
+ * memberships, for conditional GETs. The services bump a stamp after every committed
+ * write, so an unchanged stamp means an unchanged listing and a poll can be answered
+ * with 304 Not Modified before running the query.
+ * <p>
+ * Stamps are kept in memory per instance. Every start gets a new {@link #epoch()},
+ * so tags handed out by another instance or before a restart never match.
+ */
+@Component
+public class ChangeStamps {
+
+    public record Stamp(long counter, long lastModified) {
+    }
+
+    private record Roster(Class<?> type, UUID courseId) {
+    }
+
+    private final long started = System.currentTimeMillis();
+
+    private final String epoch = Long.toString(started, 36);
+
+    private final Map<Object, Stamp> stamps = new ConcurrentHashMap<>();
+
+    public String epoch() {
+        return epoch;
+    }
+
+    public Stamp get(Class<?> type) {
+        return stamps.getOrDefault(type, new Stamp(0, started));
+    }
+
+    /**
+     * Returns the stamp of the members of the type in the course, or in any course
+     * when {@code courseId} is {@code null}.
+     */
+    public Stamp getRoster(Class<?> type, UUID courseId) {
+        return stamps.getOrDefault(new Roster(type, courseId), new Stamp(0, started));
+    }
+
+    public void touch(Class<?> type) {
+        AfterCommit.run(() -> bump(type));
+    }
+
+    public void touchRoster(Class<?> type, UUID courseId) {
+        AfterCommit.run(() -> {
+            bump(new Roster(type, courseId));
+            bump(new Roster(type, null));
+        });
+    }
+
+    private void bump(Object key) {
+        long now = System.currentTimeMillis();
+        stamps.compute(key, (k, stamp) -> new Stamp(stamp == null ? 1 : stamp.counter() + 1, now));
+    }
+
+}
@@ -0,0 +1,57 @@
+package com.school.management.services;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.school.management.constants.Constants;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class ContendedWrite {
+
+    private static final long BACKOFF_MILLIS = 5;
+
+    /**
+     * Runs an idempotent write in a transaction and repeats it, up to
+     * {@link Constants#MAX_WRITE_ATTEMPTS} times with a short random backoff, when it
+     * loses a race with a concurrent write: two inserts of the same join row, a row
+     * deleted in between, a lock timeout, deadlock or optimistic-locking conflict.
+     * Each attempt sees the rows the winner committed, so the repeat succeeds.
+     * <p>
+     * Inside a caller's transaction the write runs once, since a failed statement
+     * dooms the whole transaction.
+     */
+    static <T> T run(TransactionTemplate transactions, Supplier<T> write) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return write.get();
+        }
+
+        for (int attempt = 1;; attempt++) {
+            try {
+                return transactions.execute(status -> write.get());
+            } catch (ConcurrencyFailureException | DataIntegrityViolationException e) {
+                if (attempt == Constants.MAX_WRITE_ATTEMPTS) {
+                    throw e;
+                }
+                backOff(attempt, e);
+            }
+        }
+    }
+
+    private static void backOff(int attempt, DataAccessException cause) {
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(BACKOFF_MILLIS << attempt));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw cause;
+        }
+    }
+}
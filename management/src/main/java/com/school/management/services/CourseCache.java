@@ -0,0 +1,87 @@
+package com.school.management.services;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.school.management.dto.CacheStatistics;
+import com.school.management.models.Course;
+import com.school.management.models.Student;
+import com.school.management.models.Teacher;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Evicts cached course rosters that Hibernate cannot invalidate on its own and
+ * reports second-level cache statistics.
+ * <p>
+ * {@code Course.students} and {@code Course.teachers} are the inverse side of the
+ * membership, so changes made through {@code Student.courses} or
+ * {@code Teacher.courses} do not touch their cached copies.
+ */
+@Component
+public class CourseCache {
+
+    static final String STUDENTS_ROLE = Course.class.getName() + ".students";
+    static final String TEACHERS_ROLE = Course.class.getName() + ".teachers";
+
+    private static final List<String> REGIONS = List.of(Course.class.getName(), STUDENTS_ROLE, TEACHERS_ROLE,
+            Student.class.getName(), Teacher.class.getName());
+
+    private final SessionFactory sessionFactory;
+
+    public CourseCache(EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+    }
+
+    public void evictRosters(UUID courseId) {
+        evictNowAndAfterCommit(() -> {
+            sessionFactory.getCache().evictCollectionData(STUDENTS_ROLE, courseId);
+            sessionFactory.getCache().evictCollectionData(TEACHERS_ROLE, courseId);
+        });
+    }
+
+    public void evictStudentRosters() {
+        evictNowAndAfterCommit(() -> sessionFactory.getCache().evictCollectionData(STUDENTS_ROLE));
+    }
+
+    public void evictTeacherRosters() {
+        evictNowAndAfterCommit(() -> sessionFactory.getCache().evictCollectionData(TEACHERS_ROLE));
+    }
+
+    public List<CacheStatistics> statistics() {
+        return REGIONS.stream()
+                .map(region -> {
+                    CacheRegionStatistics statistics = sessionFactory.getStatistics()
+                            .getCacheRegionStatistics(region);
+                    return statistics == null ? null
+                            : new CacheStatistics(region, statistics.getHitCount(), statistics.getMissCount(),
+                                    statistics.getPutCount());
+                })
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * Evicts immediately and, inside a transaction, once more after commit so a
+     * concurrent reader cannot re-cache the roster as it was before the change.
+     */
+    private void evictNowAndAfterCommit(Runnable eviction) {
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        }
+    }
+
+}
@@ -3,7 +3,11 @@ package com.school.management.services;
 import java.util.List;
 import java.util.UUID;
 
+import com.school.management.dto.CourseFilter;
+import com.school.management.dto.DeleteResult;
+import com.school.management.dto.EnrollmentResult;
 import com.school.management.dto.PageResult;
+import com.school.management.dto.TotalMode;
 import com.school.management.models.Course;
 import com.school.management.models.Student;
 import com.school.management.models.Teacher;
@@ -15,14 +19,29 @@ import com.school.management.models.Teacher;
 public interface CoursesService {
 
     /**
-     * Retrieves a paginated list of courses matching the provided example probe.
+     * Retrieves a paginated list of courses matching either the query-parameter
+     * filter or the example probe. Passing both is rejected.
      *
-     * @param probe The example course to filter results.
+     * @param probe The example course to filter results, or null.
+     * @param filter The query-parameter filter and sort order, or null.
      * @param size  The number of results per page.
      * @param page  The page number to retrieve.
+     * @param total How to fill in the total: counted, approximate, or skipped in favour of hasNext.
      * @return A page result containing the list of matching courses.
      */
-    PageResult<Course> getAll(Course probe, Integer size, Integer page);
+    PageResult<Course> getAll(Course probe, CourseFilter filter, Integer size, Integer page, TotalMode total);
+
+    /**
+     * Retrieves a keyset page of courses matching the provided example probe,
+     * ordered by name and ID.
+     *
+     * @param probe The example course to filter results.
+     * @param pageSize The number of results per page.
+     * @param cursor The cursor returned with the previous page, or null for the first page.
+     * @param total How to fill in the total, or null to count on the first page only.
+     * @return A page result containing the matching courses and the cursor of the next page.
+     */
+    PageResult<Course> scroll(Course probe, Integer pageSize, String cursor, TotalMode total);
 
     /**
      * Adds a new course to the system.
@@ -49,35 +68,146 @@ public interface CoursesService {
     void delete(UUID id);
 
     /**
-     * Retrieves a list of students enrolled in the given course, optionally
-     * filtered by group and minimum age.
+     * Deletes the courses with the given IDs in a few set-based statements. Courses
+     * that still have students or teachers are kept and reported as in use.
+     *
+     * @param ids The IDs of the courses to delete.
+     * @return The number of deleted courses and the outcome of every ID.
+     */
+    DeleteResult deleteAll(List<UUID> ids);
+
+    /**
+     * Retrieves a page of the students enrolled in the given course, optionally
+     * filtered by group and minimum age. Each student appears at most once.
+     * An unknown course is reported as not found.
+     *
+     * @param courseId   The ID of the course.
+     * @param group      The group name to filter by (optional).
+     * @param minAge     The minimum age to filter by (optional).
+     * @param pageSize   The number of results per page, at most {@code Constants.MAX_PAGE_SIZE}.
+     * @param pageNumber The page number to retrieve.
+     * @param sort       The property to sort by (id, name, age or group), optionally followed
+     *                   by {@code ,asc} or {@code ,desc}; defaults to name.
+     * @param total      How to fill in the total: counted, or skipped in favour of hasNext.
+     * @return A page result containing the matching students.
+     */
+    PageResult<Student> getStudents(UUID courseId, String group, Integer minAge, Integer pageSize, Integer pageNumber,
+            String sort, TotalMode total);
+
+    /**
+     * Counts the students enrolled in the given course, optionally filtered by group
+     * and minimum age, without reading them.
      *
      * @param courseId The ID of the course.
      * @param group    The group name to filter by (optional).
      * @param minAge   The minimum age to filter by (optional).
-     * @return A list of matching students.
+     * @return The number of matching students.
+     */
+    long countStudents(UUID courseId, String group, Integer minAge);
+
+    /**
+     * Retrieves a page of the teachers assigned to the given course, optionally
+     * filtered by group and minimum age. Each teacher appears at most once.
+     * An unknown course is reported as not found.
+     *
+     * @param courseId   The ID of the course.
+     * @param group      The group name to filter by (optional).
+     * @param minAge     The minimum age to filter by (optional).
+     * @param pageSize   The number of results per page, at most {@code Constants.MAX_PAGE_SIZE}.
+     * @param pageNumber The page number to retrieve.
+     * @param sort       The property to sort by (id, name, age or group), optionally followed
+     *                   by {@code ,asc} or {@code ,desc}; defaults to name.
+     * @param total      How to fill in the total: counted, or skipped in favour of hasNext.
+     * @return A page result containing the matching teachers.
      */
-    List<Student> getStudents(UUID courseId, String group, Integer minAge);
+    PageResult<Teacher> getTeachers(UUID courseId, String group, Integer minAge, Integer pageSize, Integer pageNumber,
+            String sort, TotalMode total);
 
     /**
-     * Retrieves a list of teachers assigned to the given course, optionally
-     * filtered by group and minimum age.
+     * Counts the teachers assigned to the given course, optionally filtered by group
+     * and minimum age, without reading them.
      *
      * @param courseId The ID of the course.
      * @param group    The group name to filter by (optional).
      * @param minAge   The minimum age to filter by (optional).
-     * @return A list of matching students.
+     * @return The number of matching teachers.
+     */
+    long countTeachers(UUID courseId, String group, Integer minAge);
+
+    /**
+     * Retrieves a page of the IDs of the students enrolled in every course in {@code allOf},
+     * at least one course in {@code anyOf} and no course in {@code noneOf}, answered
+     * from the in-memory membership index.
+     *
+     * @param allOf      Courses the students must all be enrolled in (optional).
+     * @param anyOf      Courses of which the students must be enrolled in at least one (optional).
+     * @param noneOf     Courses the students must not be enrolled in (optional).
+     * @param group      The group name to filter by (optional).
+     * @param pageSize   The number of results per page, at most {@code Constants.MAX_PAGE_SIZE}.
+     * @param pageNumber The page number to retrieve.
+     * @return A page result containing the matching student IDs and their count.
+     */
+    PageResult<UUID> matchStudents(List<UUID> allOf, List<UUID> anyOf, List<UUID> noneOf, String group,
+            Integer pageSize, Integer pageNumber);
+
+    /**
+     * Counts the students matched as in {@link #matchStudents}, without listing them.
+     *
+     * @param allOf  Courses the students must all be enrolled in (optional).
+     * @param anyOf  Courses of which the students must be enrolled in at least one (optional).
+     * @param noneOf Courses the students must not be enrolled in (optional).
+     * @param group  The group name to filter by (optional).
+     * @return The number of matching students.
      */
-    List<Teacher> getTeachers(UUID courseId, String group, Integer minAge);
+    long countMatchingStudents(List<UUID> allOf, List<UUID> anyOf, List<UUID> noneOf, String group);
 
     /**
-     * Enrolls a list of students into a course.
+     * Retrieves a page of the IDs of the teachers assigned to every course in {@code allOf},
+     * at least one course in {@code anyOf} and no course in {@code noneOf}, answered
+     * from the in-memory membership index.
+     *
+     * @param allOf      Courses the teachers must all be assigned to (optional).
+     * @param anyOf      Courses of which the teachers must be assigned to at least one (optional).
+     * @param noneOf     Courses the teachers must not be assigned to (optional).
+     * @param group      The group name to filter by (optional).
+     * @param pageSize   The number of results per page, at most {@code Constants.MAX_PAGE_SIZE}.
+     * @param pageNumber The page number to retrieve.
+     * @return A page result containing the matching teacher IDs and their count.
+     */
+    PageResult<UUID> matchTeachers(List<UUID> allOf, List<UUID> anyOf, List<UUID> noneOf, String group,
+            Integer pageSize, Integer pageNumber);
+
+    /**
+     * Counts the teachers matched as in {@link #matchTeachers}, without listing them.
+     *
+     * @param allOf  Courses the teachers must all be assigned to (optional).
+     * @param anyOf  Courses of which the teachers must be assigned to at least one (optional).
+     * @param noneOf Courses the teachers must not be assigned to (optional).
+     * @param group  The group name to filter by (optional).
+     * @return The number of matching teachers.
+     */
+    long countMatchingTeachers(List<UUID> allOf, List<UUID> anyOf, List<UUID> noneOf, String group);
+
+    /**
+     * Enrolls a list of students into a course. Students that are already enrolled
+     * or do not exist are skipped.
      *
      * @param studentIds The list of student IDs to enroll.
      * @param id         The ID of the course.
-     * @return The updated course with enrolled students.
+     * @return The number of added, already enrolled and unknown students.
+     */
+    EnrollmentResult enrollStudentsInCourse(List<UUID> studentIds, UUID id);
+
+    /**
+     * Enrolls the students of several requests into a course with one set of
+     * statements in one transaction, as if the requests had run one after another.
+     *
+     * @param id       The ID of the course.
+     * @param requests The student IDs of each request.
+     * @return The number of added, already enrolled and unknown students of each
+     *         request, in request order.
      */
-    Course enrollStudentsInCourse(List<UUID> studentIds, UUID id);
+    List<EnrollmentResult> enrollStudentsInCourse(UUID id, List<List<UUID>> requests);
 
     /**
      * Removes a list of students from a course.
@@ -89,13 +219,25 @@ public interface CoursesService {
     Course deregisterStudentsFromCourse(List<UUID> studentIds, UUID id);
 
     /**
-     * Assigns teachers to a course.
+     * Assigns teachers to a course. Teachers that are already assigned or do not
+     * exist are skipped.
      *
      * @param teacherIds The list of teacher IDs to assign.
      * @param id         The ID of the course.
-     * @return The updated course with assigned teachers.
+     * @return The number of added, already assigned and unknown teachers.
+     */
+    EnrollmentResult assignTeachersToCourse(List<UUID> teacherIds, UUID id);
+
+    /**
+     * Assigns the teachers of several requests to a course with one set of
+     * statements in one transaction, as if the requests had run one after another.
+     *
+     * @param id       The ID of the course.
+     * @param requests The teacher IDs of each request.
+     * @return The number of added, already assigned and unknown teachers of each
+     *         request, in request order.
      */
-    Course assignTeachersToCourse(List<UUID> teacherIds, UUID id);
+    List<EnrollmentResult> assignTeachersToCourse(UUID id, List<List<UUID>> requests);
 
     /**
      * Deregisters teachers from a course.
@@ -2,43 +2,93 @@ package com.school.management.services;
 
 import static com.school.management.constants.ErrorMessageTemplate.CANNOT_DELETE_COURSE_WITH_STUDENTS;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
+import java.util.function.UnaryOperator;
 
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.data.domain.Example;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.school.management.constants.Constants;
+import com.school.management.dto.ChangeType;
+import com.school.management.dto.CourseFilter;
+import com.school.management.dto.DeleteOutcome;
+import com.school.management.dto.DeleteResult;
+import com.school.management.dto.EnrollmentResult;
 import com.school.management.dto.PageResult;
+import com.school.management.dto.TotalMode;
 import com.school.management.models.Course;
 import com.school.management.models.Student;
 import com.school.management.models.Teacher;
 import com.school.management.repositories.CoursesRepository;
+import com.school.management.repositories.ExampleSpecifications;
+import com.school.management.repositories.KeysetCursor;
+import com.school.management.repositories.KeysetSpecifications;
 import com.school.management.repositories.StudentSpecifications;
 import com.school.management.repositories.StudentsRepository;
 import com.school.management.repositories.TeacherSpecifications;
 import com.school.management.repositories.TeachersRepository;
 
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityNotFoundException;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 
 @Service
+@Timed("school.service")
 @RequiredArgsConstructor
 public class CoursesServiceImpl implements CoursesService {
 
+    private static final Set<String> ROSTER_SORT_PROPERTIES = Set.of("id", "name", "age", "group");
+
+    private static final Set<String> COURSE_SORT_PROPERTIES = Set.of("id", "name", "courseType");
+
     private final CoursesRepository coursesRepository;
 
     private final StudentsRepository studentsRepository;
 
     private final TeachersRepository teachersRepository;
 
+    private final CourseCache courseCache;
+
+    private final ApproximateTotals approximateTotals;
+
+    private final RosterIndex rosterIndex;
+
+    private final ChangeStamps changeStamps;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final StudentStatistics studentStatistics;
+
+    private final ChangeLog changeLog;
+
+    private final ReplicaReads replicaReads;
+
     @Override
-    public PageResult<Course> getAll(Course probe, Integer pageSize, Integer pageNumber) {
+    @Transactional(readOnly = true)
+    public PageResult<Course> getAll(Course probe, CourseFilter filter, Integer pageSize, Integer pageNumber,
+            TotalMode total) {
+        return replicaReads.run(() -> listPage(probe, filter, pageSize, pageNumber, total));
+    }
+
+    private PageResult<Course> listPage(Course probe, CourseFilter filter, Integer pageSize, Integer pageNumber,
+            TotalMode total) {
 
         if (pageSize == null || pageSize < 1) {
             pageSize = Constants.DEFAULT_PAGE_SIZE;
@@ -48,20 +98,59 @@ public class CoursesServiceImpl implements CoursesService {
             pageNumber = Constants.DEFAULT_PAGE_NUMBER;
         }
 
+        if (filter == null) {
+            filter = CourseFilter.NONE;
+        }
+
         if (probe == null) {
-            probe = new Course();
+            return getAll(filter, PageRequest.of(pageNumber, pageSize,
+                    SortParameter.parse(filter.sort(), "id", COURSE_SORT_PROPERTIES, "courses")), total);
+        }
+
+        if (!filter.equals(CourseFilter.NONE)) {
+            throw new IllegalArgumentException("Filter either with query parameters or with a probe, not both");
         }
 
         Pageable pageable = PageRequest.of(pageNumber, pageSize);
         Example<Course> example = Example.of(probe);
-        Page<Course> page = coursesRepository.findAll(example, pageable);
-        return new PageResult<>(page.getContent(), page.getTotalElements());
+        Slice<Course> slice = coursesRepository.findBy(ExampleSpecifications.matching(example),
+                query -> query.slice(pageable));
+
+        if (total == TotalMode.NONE) {
+            return new PageResult<>(slice.getContent(), null, null, slice.hasNext());
+        }
+
+        Page<Course> page = PageableExecutionUtils.getPage(slice.getContent(), pageable, () -> count(example, total));
+        return new PageResult<>(page.getContent(), page.getTotalElements(), null, page.hasNext());
+    }
+
+    private PageResult<Course> getAll(CourseFilter filter, Pageable pageable, TotalMode total) {
+        Slice<Course> slice = coursesRepository.findSlice(filter, pageable);
+
+        if (total == TotalMode.NONE) {
+            return new PageResult<>(slice.getContent(), null, null, slice.hasNext());
+        }
+
+        Page<Course> page = PageableExecutionUtils.getPage(slice.getContent(), pageable, () -> count(filter, total));
+        return new PageResult<>(page.getContent(), page.getTotalElements(), null, page.hasNext());
     }
 
     @Override
-    public List<Student> getStudents(UUID courseId, String group, Integer minAge) {
-        Specification<Student> spec = (root, query, criteriaBuilder) -> StudentSpecifications.hasCourseId(courseId)
-                .toPredicate(root, query, criteriaBuilder);
+    @Transactional(readOnly = true)
+    public PageResult<Student> getStudents(UUID courseId, String group, Integer minAge, Integer pageSize,
+            Integer pageNumber, String sort, TotalMode total) {
+        return replicaReads.run(() -> roster(courseId, studentsRepository, studentRoster(courseId, group, minAge),
+                rosterPage(pageSize, pageNumber, sort), total));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long countStudents(UUID courseId, String group, Integer minAge) {
+        return replicaReads.run(() -> studentsRepository.count(studentRoster(courseId, group, minAge)));
+    }
+
+    private static Specification<Student> studentRoster(UUID courseId, String group, Integer minAge) {
+        Specification<Student> spec = StudentSpecifications.hasCourseId(courseId);
 
         if (group != null) {
             spec = spec.and(StudentSpecifications.hasGroup(group));
@@ -71,13 +160,25 @@ public class CoursesServiceImpl implements CoursesService {
             spec = spec.and(StudentSpecifications.isOlderThan(minAge));
         }
 
-        return studentsRepository.findAll(spec);
+        return spec;
     }
 
     @Override
-    public List<Teacher> getTeachers(UUID courseId, String group, Integer minAge) {
-        Specification<Teacher> spec = (root, query, criteriaBuilder) -> TeacherSpecifications.hasCourseId(courseId)
-                .toPredicate(root, query, criteriaBuilder);
+    @Transactional(readOnly = true)
+    public PageResult<Teacher> getTeachers(UUID courseId, String group, Integer minAge, Integer pageSize,
+            Integer pageNumber, String sort, TotalMode total) {
+        return replicaReads.run(() -> roster(courseId, teachersRepository, teacherRoster(courseId, group, minAge),
+                rosterPage(pageSize, pageNumber, sort), total));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long countTeachers(UUID courseId, String group, Integer minAge) {
+        return replicaReads.run(() -> teachersRepository.count(teacherRoster(courseId, group, minAge)));
+    }
+
+    private static Specification<Teacher> teacherRoster(UUID courseId, String group, Integer minAge) {
+        Specification<Teacher> spec = TeacherSpecifications.hasCourseId(courseId);
 
         if (group != null) {
             spec = spec.and(TeacherSpecifications.hasGroup(group));
@@ -87,109 +188,335 @@ public class CoursesServiceImpl implements CoursesService {
             spec = spec.and(TeacherSpecifications.isOlderThan(minAge));
         }
 
-        return teachersRepository.findAll(spec);
+        return spec;
     }
 
     @Override
-    public Course add(Course course) {
-        return coursesRepository.save(course);
+    public PageResult<UUID> matchStudents(List<UUID> allOf, List<UUID> anyOf, List<UUID> noneOf, String group,
+            Integer pageSize, Integer pageNumber) {
+        return rosterIndex.find(Student.class, new RosterIndex.Match(allOf, anyOf, noneOf, group),
+                rosterPage(pageSize, pageNumber, "id"));
     }
 
     @Override
-    @Transactional
-    public Course enrollStudentsInCourse(List<UUID> studentIds, UUID courseId) {
-        Course course = coursesRepository.findById(courseId)
-                .orElseThrow(EntityNotFoundException::new);
+    public long countMatchingStudents(List<UUID> allOf, List<UUID> anyOf, List<UUID> noneOf, String group) {
+        return rosterIndex.count(Student.class, new RosterIndex.Match(allOf, anyOf, noneOf, group));
+    }
+
+    @Override
+    public PageResult<UUID> matchTeachers(List<UUID> allOf, List<UUID> anyOf, List<UUID> noneOf, String group,
+            Integer pageSize, Integer pageNumber) {
+        return rosterIndex.find(Teacher.class, new RosterIndex.Match(allOf, anyOf, noneOf, group),
+                rosterPage(pageSize, pageNumber, "id"));
+    }
+
+    @Override
+    public long countMatchingTeachers(List<UUID> allOf, List<UUID> anyOf, List<UUID> noneOf, String group) {
+        return rosterIndex.count(Teacher.class, new RosterIndex.Match(allOf, anyOf, noneOf, group));
+    }
+
+    private <T> PageResult<T> roster(UUID courseId, JpaSpecificationExecutor<T> repository, Specification<T> spec,
+            Pageable pageable, TotalMode total) {
+        Slice<T> slice = repository.findBy(spec, query -> query.slice(pageable));
+
+        // only an empty page can belong to an unknown course, so only then is it looked up
+        if (!slice.hasContent() && !coursesRepository.existsById(courseId)) {
+            throw new EntityNotFoundException();
+        }
+
+        if (total == TotalMode.NONE) {
+            return new PageResult<>(slice.getContent(), null, null, slice.hasNext());
+        }
 
-        List<Student> students = studentsRepository.findAllById(studentIds);
+        Page<T> page = PageableExecutionUtils.getPage(slice.getContent(), pageable, () -> repository.count(spec));
+        return new PageResult<>(page.getContent(), page.getTotalElements(), null, page.hasNext());
+    }
 
-        course.getStudents().addAll(students);
+    /**
+     * Orders roster pages by the requested property and then by ID, so pages are
+     * stable, and caps their size at {@link Constants#MAX_PAGE_SIZE}.
+     */
+    private static Pageable rosterPage(Integer pageSize, Integer pageNumber, String sort) {
+        if (pageSize == null || pageSize < 1) {
+            pageSize = Constants.DEFAULT_PAGE_SIZE;
+        }
 
-        for (Student student : students) {
-            student.getCourses().add(course);
+        if (pageNumber == null || pageNumber < 0) {
+            pageNumber = Constants.DEFAULT_PAGE_NUMBER;
         }
 
-        studentsRepository.saveAll(students);
-        return course;
+        return PageRequest.of(pageNumber, Math.min(pageSize, Constants.MAX_PAGE_SIZE),
+                SortParameter.parse(sort, "name", ROSTER_SORT_PROPERTIES, "rosters"));
     }
 
     @Override
-    @Transactional
-    public Course assignTeachersToCourse(List<UUID> teacherIds, UUID courseId) {
-        Course course = coursesRepository.findById(courseId)
-                .orElseThrow(EntityNotFoundException::new);
+    @Transactional(readOnly = true)
+    public PageResult<Course> scroll(Course probe, Integer pageSize, String cursor, TotalMode total) {
+        return replicaReads.run(() -> scrollPage(probe, pageSize, cursor, total));
+    }
 
-        List<Teacher> teachers = teachersRepository.findAllById(teacherIds);
+    private PageResult<Course> scrollPage(Course probe, Integer pageSize, String cursor, TotalMode total) {
+        if (pageSize == null || pageSize < 1) {
+            pageSize = Constants.DEFAULT_PAGE_SIZE;
+        }
 
-        course.getTeachers().addAll(teachers);
+        if (probe == null) {
+            probe = new Course();
+        }
+
+        Pageable pageable = PageRequest.ofSize(pageSize);
+        Example<Course> example = Example.of(probe);
+        KeysetCursor after = cursor == null || cursor.isBlank() ? null : KeysetCursor.decode(cursor);
+        Slice<Course> slice = coursesRepository.findBy(KeysetSpecifications.matchingAfter(example, after),
+                query -> query.slice(pageable));
+
+        String nextCursor = null;
+        if (slice.hasNext()) {
+            Course last = slice.getContent().get(slice.getNumberOfElements() - 1);
+            nextCursor = new KeysetCursor(last.getName(), last.getId()).encode();
+        }
 
-        for (Teacher teacher : teachers) {
-            teacher.getCourses().add(course);
+        if (total == null) {
+            total = after == null ? TotalMode.EXACT : TotalMode.NONE;
         }
 
-        teachersRepository.saveAll(teachers);
-        return course;
+        Long count = total == TotalMode.NONE ? null : count(example, total);
+        return new PageResult<>(slice.getContent(), count, nextCursor, slice.hasNext());
+    }
+
+    private long count(CourseFilter filter, TotalMode total) {
+        return total == TotalMode.APPROXIMATE && filter.matchesAll()
+                ? approximateTotals.get(Course.class)
+                : coursesRepository.countMatching(filter);
+    }
+
+    private long count(Example<Course> example, TotalMode total) {
+        return total == TotalMode.APPROXIMATE && ApproximateTotals.matchesAll(example)
+                ? approximateTotals.get(Course.class)
+                : coursesRepository.count(example);
     }
 
     @Override
-    public Course deregisterStudentsFromCourse(List<UUID> studentIds, UUID id) {
-        Course course = coursesRepository.findById(id)
-                .orElseThrow(EntityNotFoundException::new);
+    @Transactional
+    public Course add(Course course) {
+        Course saved = coursesRepository.save(course);
+        changeLog.changed(ChangeType.COURSE, List.of(saved.getId()));
+        approximateTotals.adjust(Course.class, 1);
+        changeStamps.touch(Course.class);
+        return saved;
+    }
+
+    @Override
+    public EnrollmentResult enrollStudentsInCourse(List<UUID> studentIds, UUID courseId) {
+        return enrollStudentsInCourse(courseId, List.of(studentIds)).get(0);
+    }
 
-        List<Student> studentsToRemove = studentsRepository.findAllById(studentIds);
+    @Override
+    public List<EnrollmentResult> enrollStudentsInCourse(UUID courseId, List<List<UUID>> requests) {
+        return ContendedWrite.run(transactionTemplate, () -> {
+            if (!coursesRepository.existsById(courseId)) {
+                throw new EntityNotFoundException();
+            }
+
+            LinkedRequests linked = link(requests, studentsRepository::findExistingIds,
+                    ids -> studentsRepository.findIdsLinkedTo(courseId, ids),
+                    ids -> studentsRepository.linkToCourse(courseId, ids),
+                    ids -> rosterIndex.link(Student.class, courseId, ids));
+            changeLog.linked(ChangeType.ENROLLMENT, courseId, linked.addedIds());
+            courseCache.evictRosters(courseId);
+            studentStatistics.enrolled(courseId, linked.inserted());
+            changeStamps.touchRoster(Student.class, courseId);
+            return linked.results();
+        });
+    }
 
-        course.getStudents().removeAll(studentsToRemove);
+    @Override
+    public EnrollmentResult assignTeachersToCourse(List<UUID> teacherIds, UUID courseId) {
+        return assignTeachersToCourse(courseId, List.of(teacherIds)).get(0);
+    }
 
-        for (Student student : studentsToRemove) {
-            student.getCourses().remove(course);
+    @Override
+    public List<EnrollmentResult> assignTeachersToCourse(UUID courseId, List<List<UUID>> requests) {
+        return ContendedWrite.run(transactionTemplate, () -> {
+            if (!coursesRepository.existsById(courseId)) {
+                throw new EntityNotFoundException();
+            }
+
+            LinkedRequests linked = link(requests, teachersRepository::findExistingIds,
+                    ids -> teachersRepository.findIdsLinkedTo(courseId, ids),
+                    ids -> teachersRepository.linkToCourse(courseId, ids),
+                    ids -> rosterIndex.link(Teacher.class, courseId, ids));
+            changeLog.linked(ChangeType.ASSIGNMENT, courseId, linked.addedIds());
+            courseCache.evictRosters(courseId);
+            changeStamps.touchRoster(Teacher.class, courseId);
+            return linked.results();
+        });
+    }
+
+    private record LinkedRequests(List<EnrollmentResult> results, List<UUID> addedIds, int inserted) {
+    }
+
+    /**
+     * Links the IDs of several requests together, reading which of them exist and
+     * which are already linked before inserting the rest, and then attributes them to
+     * the requests in order: an ID is added for the first request that names it and
+     * skipped for later ones, as if the requests had run one after another. Should a
+     * concurrent enrollment link some of the IDs in between, the write fails and is
+     * repeated, so no link is reported as added twice.
+     */
+    private static LinkedRequests link(List<List<UUID>> requests, UnaryOperator<List<UUID>> findExisting,
+            UnaryOperator<List<UUID>> findLinked, ToIntFunction<List<UUID>> insertMissing,
+            Consumer<List<UUID>> linked) {
+        List<UUID> ids = distinctIds(requests.stream().flatMap(List::stream).toList());
+
+        Set<UUID> existing = new HashSet<>();
+        Set<UUID> unlinked = new HashSet<>();
+        int inserted = 0;
+        for (int from = 0; from < ids.size(); from += Constants.MAX_IDS_PER_STATEMENT) {
+            List<UUID> chunk = ids.subList(from, Math.min(ids.size(), from + Constants.MAX_IDS_PER_STATEMENT));
+            List<UUID> known = findExisting.apply(chunk);
+            if (known.isEmpty()) {
+                continue;
+            }
+            Set<UUID> missing = new HashSet<>(known);
+            findLinked.apply(known).forEach(missing::remove);
+            if (insertMissing.applyAsInt(known) != missing.size()) {
+                throw new ConcurrencyFailureException("Links of the course were added concurrently");
+            }
+            existing.addAll(known);
+            unlinked.addAll(missing);
+            inserted += missing.size();
+            linked.accept(known);
         }
 
-        studentsRepository.saveAll(studentsToRemove);
-        return course;
+        List<EnrollmentResult> results = new ArrayList<>(requests.size());
+        List<UUID> addedIds = new ArrayList<>();
+        for (List<UUID> request : requests) {
+            EnrollmentResult result = new EnrollmentResult();
+            for (UUID id : distinctIds(request)) {
+                if (!existing.contains(id)) {
+                    result.setUnknown(result.getUnknown() + 1);
+                } else if (unlinked.remove(id)) {
+                    result.setAdded(result.getAdded() + 1);
+                    addedIds.add(id);
+                } else {
+                    result.setSkipped(result.getSkipped() + 1);
+                }
+            }
+            results.add(result);
+        }
+        return new LinkedRequests(results, addedIds, inserted);
     }
 
     @Override
-    public Course deregisterTeachersFromCourse(List<UUID> teacherIds, UUID id) {
-        Course course = coursesRepository.findById(id)
-                .orElseThrow(EntityNotFoundException::new);
+    public Course deregisterStudentsFromCourse(List<UUID> studentIds, UUID id) {
+        ContendedWrite.run(transactionTemplate, () -> {
+            List<UUID> removed = unlink(id, studentIds, ids -> studentsRepository.findIdsLinkedTo(id, ids),
+                    ids -> studentsRepository.unlinkFromCourse(id, ids));
+            rosterIndex.unlink(Student.class, id, removed);
+            changeLog.unlinked(ChangeType.ENROLLMENT, id, removed);
+            studentStatistics.enrolled(id, -removed.size());
+            changeStamps.touchRoster(Student.class, id);
+            return removed;
+        });
+        return coursesRepository.findById(id).orElseThrow(EntityNotFoundException::new);
+    }
 
-        List<Teacher> teachersToRemove = teachersRepository.findAllById(teacherIds);
+    @Override
+    public Course deregisterTeachersFromCourse(List<UUID> teacherIds, UUID id) {
+        ContendedWrite.run(transactionTemplate, () -> {
+            List<UUID> removed = unlink(id, teacherIds, ids -> teachersRepository.findIdsLinkedTo(id, ids),
+                    ids -> teachersRepository.unlinkFromCourse(id, ids));
+            rosterIndex.unlink(Teacher.class, id, removed);
+            changeLog.unlinked(ChangeType.ASSIGNMENT, id, removed);
+            changeStamps.touchRoster(Teacher.class, id);
+            return removed;
+        });
+        return coursesRepository.findById(id).orElseThrow(EntityNotFoundException::new);
+    }
 
-        course.getTeachers().removeAll(teachersToRemove);
+    /**
+     * Deletes the join rows of the requested IDs in chunks of set-based statements,
+     * so concurrent deregistrations never rewrite each other's membership sets, and
+     * returns the IDs that were linked and are now removed; unknown IDs and
+     * non-members are left out. Should a concurrent deregistration remove some of the
+     * links first, the write fails and is repeated, so no removal is counted twice.
+     */
+    private List<UUID> unlink(UUID courseId, List<UUID> requestedIds, UnaryOperator<List<UUID>> findLinked,
+            ToIntFunction<List<UUID>> deleteLinks) {
+        if (!coursesRepository.existsById(courseId)) {
+            throw new EntityNotFoundException();
+        }
 
-        for (Teacher teacher : teachersToRemove) {
-            teacher.getCourses().remove(course);
+        List<UUID> ids = distinctIds(requestedIds);
+        List<UUID> removed = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += Constants.MAX_IDS_PER_STATEMENT) {
+            List<UUID> linked = findLinked.apply(
+                    ids.subList(from, Math.min(ids.size(), from + Constants.MAX_IDS_PER_STATEMENT)));
+            if (!linked.isEmpty() && deleteLinks.applyAsInt(linked) != linked.size()) {
+                throw new ConcurrencyFailureException("Links of course " + courseId + " were removed concurrently");
+            }
+            removed.addAll(linked);
         }
+        courseCache.evictRosters(courseId);
+        return removed;
+    }
 
-        teachersRepository.saveAll(teachersToRemove);
-        return course;
+    private static List<UUID> distinctIds(List<UUID> requestedIds) {
+        return requestedIds.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
     }
 
     @Override
+    @Transactional
     public Course update(Course course) {
         if (course.getId() == null) {
             throw new IllegalArgumentException("Course ID cannot be null");
         }
 
-        if (!coursesRepository.existsById(course.getId())) {
-            throw new EntityNotFoundException();
+        Long version = coursesRepository.findVersionById(course.getId())
+                .orElseThrow(EntityNotFoundException::new);
+
+        // without a version the update overwrites the current row, as before versioning
+        if (course.getVersion() == null) {
+            course.setVersion(version);
         }
 
-        return coursesRepository.save(course);
+        Course updated = coursesRepository.save(course);
+        changeLog.changed(ChangeType.COURSE, List.of(updated.getId()));
+        courseCache.evictRosters(updated.getId());
+        changeStamps.touch(Course.class);
+        return updated;
     }
 
     @Override
+    @Transactional
     public void delete(UUID id) {
-        Course course = coursesRepository.findById(id)
-                .orElseThrow(EntityNotFoundException::new);
+        DeleteOutcome outcome = deleteAll(List.of(id)).getOutcomes().get(id);
 
-        if (!course.getStudents().isEmpty()) {
-            throw new IllegalStateException(CANNOT_DELETE_COURSE_WITH_STUDENTS.getMessage());
+        if (outcome == DeleteOutcome.NOT_FOUND) {
+            throw new EntityNotFoundException();
         }
-        if (!course.getTeachers().isEmpty()) {
+        if (outcome == DeleteOutcome.IN_USE) {
             throw new IllegalStateException(CANNOT_DELETE_COURSE_WITH_STUDENTS.getMessage());
         }
-        coursesRepository.deleteById(id);
+    }
+
+    @Override
+    @Transactional
+    public DeleteResult deleteAll(List<UUID> ids) {
+        DeleteResult result = BatchDelete.run(ids, coursesRepository::findExistingIds,
+                coursesRepository::findUnusedIds, coursesRepository::deleteUnusedByIds);
+
+        if (result.getDeleted() > 0) {
+            approximateTotals.adjust(Course.class, -result.getDeleted());
+            rosterIndex.removeCourses(result.deletedIds());
+            changeLog.deleted(ChangeType.COURSE, result.deletedIds());
+            changeStamps.touch(Course.class);
+        }
+        return result;
     }
 
 }
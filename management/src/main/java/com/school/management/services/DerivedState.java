@@ -0,0 +1,184 @@
+package com.school.management.services;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory state derived from the database, such as an index or a set of counters,
+ * that the services keep current so reads need no query. The state is loaded on
+ * first use, changed as the writes of the services commit, reloaded on a schedule to
+ * repair writes that bypassed the services, and dropped by {@link #invalidate()}, e.g.
+ * after an import, so that the next use loads it again.
+ * <p>
+ * A load runs without blocking the writers and only replaces the state if no change
+ * committed while it ran. Such a change may or may not be in the rows the load read,
+ * so installing the loaded state could lose the change or, for counters, apply it
+ * twice. The loaded state is discarded instead and the current one, which has every
+ * change applied, is kept until the next reload. A first load has nothing to fall back
+ * on and is installed after {@value #FIRST_LOAD_ATTEMPTS} attempts regardless.
+ * <p>
+ * Changes must be made inside the transaction of the write they reflect; without one
+ * they are applied immediately.
+ */
+@Slf4j
+final class DerivedState<T> {
+
+    private static final int FIRST_LOAD_ATTEMPTS = 3;
+
+    private final String name;
+
+    private final Supplier<T> loader;
+
+    /** Serializes loads. */
+    private final Object loading = new Object();
+
+    /** Guards {@link #committing} and {@link #generation}. */
+    private final Object commits = new Object();
+
+    private volatile T state;
+
+    /** Transactions with changes that are committing now. */
+    private int committing;
+
+    /** Incremented by every committed change and invalidation. */
+    private long generation;
+
+    DerivedState(String name, Supplier<T> loader) {
+        this.name = name;
+        this.loader = loader;
+    }
+
+    /**
+     * Returns the state, loading it if it is not loaded.
+     */
+    T get() {
+        T current = state;
+        if (current != null) {
+            return current;
+        }
+        synchronized (loading) {
+            current = state;
+            for (int attempt = 1; current == null; attempt++) {
+                current = load(attempt >= FIRST_LOAD_ATTEMPTS);
+            }
+            return current;
+        }
+    }
+
+    /**
+     * Applies the change to the state, if it is loaded, once the surrounding
+     * transaction commits.
+     */
+    void update(Consumer<T> change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new Change(change));
+        } else {
+            synchronized (commits) {
+                generation++;
+            }
+            apply(change);
+        }
+    }
+
+    /**
+     * Drops the state once the surrounding transaction commits.
+     */
+    void invalidate() {
+        AfterCommit.run(() -> {
+            synchronized (commits) {
+                state = null;
+                generation++;
+            }
+        });
+    }
+
+    /**
+     * Reloads the state if it is loaded, keeping the current one if a change
+     * commits meanwhile.
+     */
+    void reload() {
+        if (state == null) {
+            return;
+        }
+        synchronized (loading) {
+            if (state != null && load(false) == null) {
+                log.debug("Kept the {}: writes committed while it was reloaded", name);
+            }
+        }
+    }
+
+    /**
+     * Loads the state and installs it unless a change committed meanwhile and the
+     * load is not forced.
+     *
+     * @return The installed state, or {@code null} if it was discarded.
+     */
+    private T load(boolean force) {
+        long started;
+        synchronized (commits) {
+            started = generation;
+        }
+
+        T loaded = loader.get();
+
+        synchronized (commits) {
+            if (!force && (committing > 0 || generation != started)) {
+                return null;
+            }
+            state = loaded;
+            return loaded;
+        }
+    }
+
+    private void apply(Consumer<T> change) {
+        T current = state;
+        if (current != null) {
+            change.accept(current);
+        }
+    }
+
+    /**
+     * Counts its transaction as committing from just before the commit until the
+     * change is applied, so no load that overlaps the commit is installed.
+     */
+    private final class Change implements TransactionSynchronization {
+
+        private final Consumer<T> change;
+
+        private boolean counted;
+
+        Change(Consumer<T> change) {
+            this.change = change;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            synchronized (commits) {
+                committing++;
+            }
+            counted = true;
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            try {
+                if (status == STATUS_COMMITTED) {
+                    apply(change);
+                }
+            } finally {
+                if (counted) {
+                    synchronized (commits) {
+                        committing--;
+                        generation++;
+                    }
+                }
+            }
+        }
+    }
+
+}
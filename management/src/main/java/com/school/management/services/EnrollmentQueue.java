@@ -0,0 +1,188 @@
+package com.school.management.services;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.school.management.dto.EnrollmentOperation;
+import com.school.management.dto.EnrollmentResult;
+import com.school.management.models.Student;
+import com.school.management.models.Teacher;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+
+/**
+ * Write-behind queue for {@code POST /courses/{id}/students?async=true} and
+ * {@code /teachers?async=true}. Requests are held in memory, grouped by course, and
+ * every {@code school.enrollment-queue.flush-interval} the requests of each course are
+ * applied together, so a burst of small enrollments costs one set of statements per
+ * course instead of one transaction per request. Flushes run on a thread of their own,
+ * so the scheduled rebuilds of the in-memory indexes never hold them up.
+ * <p>
+ * At most {@code school.enrollment-queue.capacity} IDs wait at a time; further requests
+ * are rejected until the next flush. A request may name at most
+ * {@code school.enrollment-queue.batch-size} IDs, and the requests of a course are
+ * applied in transactions of at most that many IDs. Operations can be looked up for
+ * {@code school.enrollment-queue.operation-ttl} after their last change. Queued
+ * requests are applied on shutdown but lost if the process dies.
+ */
+@Component
+public class EnrollmentQueue {
+
+    private final CoursesService coursesService;
+
+    private final int capacity;
+
+    private final int batchSize;
+
+    private final Duration flushInterval;
+
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("enrollment-queue").daemon().factory());
+
+    private final Cache<UUID, EnrollmentOperation> operations;
+
+    private final Object lock = new Object();
+
+    private Map<Target, List<Request>> pending = new LinkedHashMap<>();
+
+    /** The number of IDs waiting. */
+    private int queued;
+
+    public EnrollmentQueue(CoursesService coursesService,
+            @Value("${school.enrollment-queue.capacity}") int capacity,
+            @Value("${school.enrollment-queue.batch-size}") int batchSize,
+            @Value("${school.enrollment-queue.flush-interval}") Duration flushInterval,
+            @Value("${school.enrollment-queue.operation-ttl}") Duration operationTtl) {
+        if (batchSize < 1 || capacity < batchSize) {
+            throw new IllegalArgumentException("Enrollment queue needs a positive batch size within its capacity");
+        }
+        this.coursesService = coursesService;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+        this.operations = Caffeine.newBuilder().expireAfterWrite(operationTtl).build();
+    }
+
+    @PostConstruct
+    public void start() {
+        long interval = flushInterval.toMillis();
+        flusher.scheduleWithFixedDelay(this::flush, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    private record Target(Class<?> type, UUID courseId) {
+    }
+
+    private record Request(EnrollmentOperation operation, List<UUID> ids) {
+    }
+
+    public EnrollmentOperation enrollStudents(UUID courseId, List<UUID> studentIds) {
+        return submit(new Target(Student.class, courseId), studentIds);
+    }
+
+    public EnrollmentOperation assignTeachers(UUID courseId, List<UUID> teacherIds) {
+        return submit(new Target(Teacher.class, courseId), teacherIds);
+    }
+
+    public EnrollmentOperation get(UUID operationId) {
+        EnrollmentOperation operation = operations.getIfPresent(operationId);
+        if (operation == null) {
+            throw new EntityNotFoundException("Enrollment operation " + operationId + " not found");
+        }
+        return operation;
+    }
+
+    private EnrollmentOperation submit(Target target, List<UUID> ids) {
+        List<UUID> requested = ids.stream().filter(Objects::nonNull).toList();
+        if (requested.size() > batchSize) {
+            throw new IllegalArgumentException(
+                    "At most " + batchSize + " IDs can be enrolled asynchronously per request");
+        }
+        EnrollmentOperation operation = EnrollmentOperation.queued(target.courseId());
+        Request request = new Request(operation, requested);
+
+        // recorded before it is queued, so a flush never overwrites its outcome
+        operations.put(operation.id(), operation);
+        synchronized (lock) {
+            if (queued + requested.size() > capacity) {
+                operations.invalidate(operation.id());
+                throw new RejectedExecutionException("Enrollment queue is full, retry later");
+            }
+            pending.computeIfAbsent(target, key -> new ArrayList<>()).add(request);
+            queued += requested.size();
+        }
+        return operation;
+    }
+
+    /**
+     * Applies the queued requests, course by course in transactions of at most
+     * {@code batchSize} IDs. When a batch fails, for example because the course was
+     * deleted, its operations fail with it.
+     */
+    public synchronized void flush() {
+        Map<Target, List<Request>> batches;
+        synchronized (lock) {
+            if (queued == 0) {
+                return;
+            }
+            batches = pending;
+            pending = new LinkedHashMap<>();
+            queued = 0;
+        }
+        batches.forEach((target, requests) -> {
+            int from = 0;
+            int ids = 0;
+            for (int i = 0; i < requests.size(); i++) {
+                ids += requests.get(i).ids().size();
+                if (ids > batchSize) {
+                    apply(target, requests.subList(from, i));
+                    from = i;
+                    ids = requests.get(i).ids().size();
+                }
+            }
+            apply(target, requests.subList(from, requests.size()));
+        });
+    }
+
+    @PreDestroy
+    public void drain() throws InterruptedException {
+        flusher.shutdown();
+        flusher.awaitTermination(1, TimeUnit.MINUTES);
+        flush();
+    }
+
+    private void apply(Target target, List<Request> requests) {
+        List<List<UUID>> ids = requests.stream().map(Request::ids).toList();
+        try {
+            List<EnrollmentResult> results = target.type() == Student.class
+                    ? coursesService.enrollStudentsInCourse(target.courseId(), ids)
+                    : coursesService.assignTeachersToCourse(target.courseId(), ids);
+
+            for (int i = 0; i < requests.size(); i++) {
+                EnrollmentOperation operation = requests.get(i).operation();
+                operations.put(operation.id(), operation.applied(results.get(i)));
+            }
+        } catch (RuntimeException e) {
+            String error = e instanceof EntityNotFoundException
+                    ? "Course " + target.courseId() + " not found"
+                    : e.getMessage();
+            requests.forEach(request -> operations.put(request.operation().id(),
+                    request.operation().failed(error)));
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.school.management.services;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.springframework.http.MediaType;
+
+import com.school.management.dto.ImportResult;
+
+/**
+ * Service interface for bulk loading students and teachers from NDJSON or CSV.
+ * Rows that cannot be parsed or stored are reported individually and do not
+ * abort the rest of the import.
+ */
+public interface ImportService {
+
+    /**
+     * Imports students from the given input.
+     *
+     * @param input  The NDJSON or CSV content.
+     * @param format {@code application/x-ndjson} or {@code text/csv}.
+     * @return The number of imported and failed rows with the first row errors.
+     */
+    ImportResult importStudents(InputStream input, MediaType format) throws IOException;
+
+    /**
+     * Imports teachers from the given input.
+     *
+     * @param input  The NDJSON or CSV content.
+     * @param format {@code application/x-ndjson} or {@code text/csv}.
+     * @return The number of imported and failed rows with the first row errors.
+     */
+    ImportResult importTeachers(InputStream input, MediaType format) throws IOException;
+
+}
@@ -0,0 +1,255 @@
+package com.school.management.services;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.school.management.dto.ChangeType;
+import com.school.management.dto.ImportResult;
+import com.school.management.dto.ImportRow;
+import com.school.management.models.Student;
+import com.school.management.models.Teacher;
+import com.school.management.repositories.BulkInsertRepository;
+
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+
+@Service
+@Timed("school.service")
+@RequiredArgsConstructor
+public class ImportServiceImpl implements ImportService {
+
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
+    private static final Set<String> CSV_COLUMNS = Set.of("name", "age", "group", "id");
+
+    private final BulkInsertRepository bulkInsertRepository;
+
+    private final ApproximateTotals approximateTotals;
+
+    private final RosterIndex rosterIndex;
+
+    private final ChangeStamps changeStamps;
+
+    private final NameIndex nameIndex;
+
+    private final ChangeLog changeLog;
+
+    private final StudentStatistics studentStatistics;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${school.import.batch-size:1000}")
+    private int batchSize;
+
+    @Override
+    public ImportResult importStudents(InputStream input, MediaType format) throws IOException {
+        ImportResult result = importRows(input, format, rows -> {
+            changeLog.changed(ChangeType.STUDENT, bulkInsertRepository.insertStudents(rows));
+            studentStatistics.imported(rows);
+            changeStamps.touch(Student.class);
+        });
+        approximateTotals.adjust(Student.class, result.getImported());
+        if (result.getImported() > 0) {
+            rosterIndex.invalidate(Student.class);
+            nameIndex.invalidate(Student.class);
+        }
+        return result;
+    }
+
+    @Override
+    public ImportResult importTeachers(InputStream input, MediaType format) throws IOException {
+        ImportResult result = importRows(input, format, rows -> {
+            changeLog.changed(ChangeType.TEACHER, bulkInsertRepository.insertTeachers(rows));
+            changeStamps.touch(Teacher.class);
+        });
+        approximateTotals.adjust(Teacher.class, result.getImported());
+        if (result.getImported() > 0) {
+            rosterIndex.invalidate(Teacher.class);
+            nameIndex.invalidate(Teacher.class);
+        }
+        return result;
+    }
+
+    private ImportResult importRows(InputStream input, MediaType format, Consumer<List<ImportRow>> insert)
+            throws IOException {
+        boolean csv = TEXT_CSV.isCompatibleWith(format);
+        if (!csv && !MediaType.APPLICATION_NDJSON.isCompatibleWith(format)) {
+            throw new IllegalArgumentException("Unsupported import format: " + format);
+        }
+
+        ImportResult result = new ImportResult();
+        List<ImportRow> batch = new ArrayList<>(batchSize);
+        List<Long> lines = new ArrayList<>(batchSize);
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        List<String> header = null;
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+
+            if (csv && header == null) {
+                header = parseCsvHeader(line);
+                continue;
+            }
+
+            try {
+                batch.add(csv ? parseCsv(header, line) : parseJson(line));
+                lines.add(lineNumber);
+            } catch (IllegalArgumentException e) {
+                result.addError(lineNumber, e.getMessage());
+            }
+
+            if (batch.size() == batchSize) {
+                flush(batch, lines, insert, result);
+            }
+        }
+
+        flush(batch, lines, insert, result);
+        return result;
+    }
+
+    /**
+     * Writes the batch in one transaction. If the batch fails, its rows are retried
+     * one by one so only the offending rows are reported.
+     */
+    private void flush(List<ImportRow> batch, List<Long> lines, Consumer<List<ImportRow>> insert,
+            ImportResult result) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert.accept(batch));
+            result.addImported(batch.size());
+        } catch (DataAccessException batchFailure) {
+            for (int i = 0; i < batch.size(); i++) {
+                try {
+                    List<ImportRow> single = List.of(batch.get(i));
+                    transactionTemplate.executeWithoutResult(status -> insert.accept(single));
+                    result.addImported(1);
+                } catch (DataAccessException e) {
+                    result.addError(lines.get(i), e.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+
+        batch.clear();
+        lines.clear();
+    }
+
+    private ImportRow parseJson(String line) {
+        try {
+            ImportRow row = objectMapper.readerFor(ImportRow.class).readValue(line);
+            if (row == null) {
+                throw new IllegalArgumentException("Expected a JSON object");
+            }
+            return row;
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Malformed JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    /**
+     * Reads the header row, which must name a {@code name} column and may add
+     * {@code age}, {@code group} and {@code id}, the last of which is ignored. A header
+     * that does not fit fails the whole import, since no row could be read right.
+     */
+    private static List<String> parseCsvHeader(String line) {
+        List<String> header = splitCsv(line).stream().map(column -> column.trim().toLowerCase(Locale.ROOT)).toList();
+        if (!header.contains("name")) {
+            throw new IllegalArgumentException("CSV header must have a name column");
+        }
+        List<String> unknown = header.stream().filter(column -> !CSV_COLUMNS.contains(column)).toList();
+        if (!unknown.isEmpty()) {
+            throw new IllegalArgumentException("Unknown CSV columns: " + String.join(", ", unknown));
+        }
+        return header;
+    }
+
+    private ImportRow parseCsv(List<String> header, String line) {
+        List<String> values = splitCsv(line);
+        if (values.size() != header.size()) {
+            throw new IllegalArgumentException(
+                    "Expected " + header.size() + " columns but found " + values.size());
+        }
+
+        String name = null;
+        Integer age = null;
+        String group = null;
+        for (int i = 0; i < header.size(); i++) {
+            String value = values.get(i).isEmpty() ? null : values.get(i);
+            switch (header.get(i)) {
+                case "name" -> name = value;
+                case "group" -> group = value;
+                case "age" -> {
+                    try {
+                        age = value == null ? null : Integer.valueOf(value.trim());
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("Invalid age: " + value);
+                    }
+                }
+                default -> {
+                    // the id column is ignored
+                }
+            }
+        }
+        return new ImportRow(name, age, group);
+    }
+
+    /**
+     * Splits one CSV line, honouring double-quoted fields and escaped quotes.
+     */
+    private static List<String> splitCsv(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    value.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted value");
+        }
+        values.add(value.toString());
+        return values;
+    }
+
+}
@@ -0,0 +1,81 @@
+package com.school.management.services;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.school.management.constants.Constants;
+import com.school.management.dto.NameMatch;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * In-memory name search over students and teachers, one {@link TrigramIndex} per
+ * type. Each index is a {@link DerivedState}, rebuilt every
+ * {@code school.name-index.refresh-interval}.
+ */
+@Component
+public class NameIndex {
+
+    private final EntityManager entityManager;
+
+    private final Map<Class<?>, DerivedState<TrigramIndex>> indexes = new ConcurrentHashMap<>();
+
+    public NameIndex(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Returns the best matches for the query, {@link Constants#DEFAULT_PAGE_SIZE} unless
+     * a limit is given and never more than {@link Constants#MAX_PAGE_SIZE}.
+     */
+    public List<NameMatch> search(Class<?> type, String query, String group, Integer minAge, Integer maxAge,
+            Integer limit) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query cannot be blank");
+        }
+        int size = limit == null || limit < 1 ? Constants.DEFAULT_PAGE_SIZE : Math.min(limit, Constants.MAX_PAGE_SIZE);
+        return index(type).get().search(query, group, minAge, maxAge, size);
+    }
+
+    public void put(Class<?> type, UUID id, String name, String group, Integer age) {
+        index(type).update(index -> index.put(id, name, group, age));
+    }
+
+    public void remove(Class<?> type, Collection<UUID> ids) {
+        index(type).update(index -> index.remove(ids));
+    }
+
+    public void invalidate(Class<?> type) {
+        index(type).invalidate();
+    }
+
+    @Scheduled(fixedDelayString = "${school.name-index.refresh-interval}",
+            initialDelayString = "${school.name-index.refresh-interval}")
+    public void refresh() {
+        indexes.values().forEach(DerivedState::reload);
+    }
+
+    private DerivedState<TrigramIndex> index(Class<?> type) {
+        return indexes.computeIfAbsent(type,
+                t -> new DerivedState<>("name index of " + t.getSimpleName(), () -> load(t)));
+    }
+
+    private TrigramIndex load(Class<?> type) {
+        String entity = entityManager.getMetamodel().entity(type).getName();
+        TrigramIndex index = new TrigramIndex();
+
+        entityManager.createQuery("select m.id, m.name, m.group, m.age from " + entity + " m order by m.id",
+                Object[].class)
+                .getResultList()
+                .forEach(row -> index.put((UUID) row[0], (String) row[1], (String) row[2], (Integer) row[3]));
+
+        return index;
+    }
+
+}
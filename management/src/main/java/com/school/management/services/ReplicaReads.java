@@ -0,0 +1,57 @@
+package com.school.management.services;
+
+import java.util.function.Supplier;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.school.management.config.ReplicaRoutingDataSource;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Marks the reads of a read-only service method as safe to serve from the replica,
+ * when {@code school.datasource.replica.url} is set: listings, scrolls, rosters,
+ * roster counts and exports, which may lag behind a write by the replication delay.
+ * Everything else reads the primary. What the replica returns is read from the
+ * second-level cache but never put into it, so a lagging row cannot be cached and
+ * then served to the reads of the primary.
+ */
+@Component
+class ReplicaReads {
+
+    private final EntityManager entityManager;
+
+    private final boolean replicated;
+
+    ReplicaReads(EntityManager entityManager, @Value("${school.datasource.replica.url:}") String replicaUrl) {
+        this.entityManager = entityManager;
+        this.replicated = !replicaUrl.isBlank();
+    }
+
+    /**
+     * Runs the reads, which must open the surrounding read-only transaction's work.
+     */
+    <T> T run(Supplier<T> reads) {
+        if (!replicated) {
+            return reads.get();
+        }
+        Session session = entityManager.unwrap(Session.class);
+        CacheMode cacheMode = session.getCacheMode();
+        session.setCacheMode(CacheMode.GET);
+        try {
+            return ReplicaRoutingDataSource.readFromReplica(reads);
+        } finally {
+            session.setCacheMode(cacheMode);
+        }
+    }
+
+    void run(Runnable reads) {
+        run(() -> {
+            reads.run();
+            return null;
+        });
+    }
+}
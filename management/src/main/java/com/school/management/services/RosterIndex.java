@@ -0,0 +1,276 @@
+package com.school.management.services;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.school.management.dto.PageResult;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * In-memory index of course membership for set-algebra roster queries such as
+ * "students of A and B but not C, in group 10b".
+ * <p>
+ * Students and teachers are numbered in ID order and every course and group keeps a
+ * compressed bitmap of its members' numbers, so a query is a handful of bitmap
+ * operations instead of one join per course. Each index is a {@link DerivedState},
+ * rebuilt every {@code school.roster-index.refresh-interval}.
+ */
+@Component
+public class RosterIndex {
+
+    private final EntityManager entityManager;
+
+    private final Map<Class<?>, DerivedState<Members>> indexes = new ConcurrentHashMap<>();
+
+    public RosterIndex(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Members of every course in {@code allOf}, of at least one course in
+     * {@code anyOf} and of none in {@code noneOf}, optionally restricted to a group.
+     * Empty lists impose no condition.
+     */
+    public record Match(List<UUID> allOf, List<UUID> anyOf, List<UUID> noneOf, String group) {
+    }
+
+    public long count(Class<?> type, Match match) {
+        return members(type).read(members -> members.match(match).getLongCardinality());
+    }
+
+    /**
+     * Returns a page of the matching member IDs in index order, which is ID order
+     * for members present at the last rebuild followed by later additions.
+     */
+    public PageResult<UUID> find(Class<?> type, Match match, Pageable pageable) {
+        return members(type).read(members -> {
+            RoaringBitmap matching = members.match(match);
+            long total = matching.getLongCardinality();
+
+            List<UUID> items = new ArrayList<>();
+            if (pageable.getOffset() < total) {
+                PeekableIntIterator ordinals = matching.getIntIterator();
+                ordinals.advanceIfNeeded(matching.select((int) pageable.getOffset()));
+                while (ordinals.hasNext() && items.size() < pageable.getPageSize()) {
+                    items.add(members.ids.get(ordinals.next()));
+                }
+            }
+
+            return new PageResult<>(items, total, null, pageable.getOffset() + items.size() < total);
+        });
+    }
+
+    public void put(Class<?> type, UUID id, String group, Collection<UUID> courseIds) {
+        update(type, members -> members.put(id, group, courseIds));
+    }
+
+    public void remove(Class<?> type, Collection<UUID> ids) {
+        update(type, members -> members.remove(ids));
+    }
+
+    /**
+     * Adds existing members to the course. Callers must leave out unknown IDs.
+     */
+    public void link(Class<?> type, UUID courseId, Collection<UUID> ids) {
+        update(type, members -> members.link(courseId, ids));
+    }
+
+    public void unlink(Class<?> type, UUID courseId, Collection<UUID> ids) {
+        update(type, members -> members.unlink(courseId, ids));
+    }
+
+    public void removeCourses(Collection<UUID> courseIds) {
+        indexes.values().forEach(index -> index.update(members -> members.write(m -> m.removeCourses(courseIds))));
+    }
+
+    public void invalidate(Class<?> type) {
+        index(type).invalidate();
+    }
+
+    @Scheduled(fixedDelayString = "${school.roster-index.refresh-interval}",
+            initialDelayString = "${school.roster-index.refresh-interval}")
+    public void refresh() {
+        indexes.values().forEach(DerivedState::reload);
+    }
+
+    private Members members(Class<?> type) {
+        return index(type).get();
+    }
+
+    private void update(Class<?> type, Consumer<Members> change) {
+        index(type).update(members -> members.write(change));
+    }
+
+    private DerivedState<Members> index(Class<?> type) {
+        return indexes.computeIfAbsent(type,
+                t -> new DerivedState<>("roster index of " + t.getSimpleName(), () -> load(t)));
+    }
+
+    private Members load(Class<?> type) {
+        String entity = entityManager.getMetamodel().entity(type).getName();
+        Members members = new Members();
+
+        entityManager.createQuery("select m.id, m.group from " + entity + " m order by m.id", Object[].class)
+                .getResultList()
+                .forEach(row -> members.put((UUID) row[0], (String) row[1], List.of()));
+        entityManager.createQuery("select m.id, c.id from " + entity + " m join m.courses c", Object[].class)
+                .getResultList()
+                .forEach(row -> members.link((UUID) row[1], List.of((UUID) row[0])));
+
+        return members;
+    }
+
+    /**
+     * Bitmaps of one member type. Members are numbered on first sight; the numbers of
+     * removed members are not reused until the next rebuild.
+     */
+    private static final class Members {
+
+        private static final RoaringBitmap EMPTY = new RoaringBitmap();
+
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+        private final Map<UUID, Integer> ordinals = new HashMap<>();
+
+        private final List<UUID> ids = new ArrayList<>();
+
+        private final List<String> groupOf = new ArrayList<>();
+
+        private final RoaringBitmap all = new RoaringBitmap();
+
+        private final Map<UUID, RoaringBitmap> courses = new HashMap<>();
+
+        private final Map<String, RoaringBitmap> groups = new HashMap<>();
+
+        <T> T read(Function<Members, T> query) {
+            return locked(lock.readLock(), () -> query.apply(this));
+        }
+
+        void write(Consumer<Members> change) {
+            locked(lock.writeLock(), () -> {
+                change.accept(this);
+                return null;
+            });
+        }
+
+        private static <T> T locked(Lock lock, Supplier<T> action) {
+            lock.lock();
+            try {
+                return action.get();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        RoaringBitmap match(Match match) {
+            RoaringBitmap result = isEmpty(match.allOf())
+                    ? all.clone()
+                    : FastAggregation.and(bitmaps(courses, match.allOf()));
+
+            if (!isEmpty(match.anyOf())) {
+                result.and(FastAggregation.or(bitmaps(courses, match.anyOf())));
+            }
+            if (!isEmpty(match.noneOf())) {
+                result.andNot(FastAggregation.or(bitmaps(courses, match.noneOf())));
+            }
+            if (match.group() != null) {
+                result.and(groups.getOrDefault(match.group(), EMPTY));
+            }
+            return result;
+        }
+
+        void put(UUID id, String group, Collection<UUID> courseIds) {
+            int ordinal = ordinal(id);
+            all.add(ordinal);
+
+            String previous = groupOf.set(ordinal, group);
+            if (previous != null) {
+                groups.get(previous).remove(ordinal);
+            }
+            if (group != null) {
+                groups.computeIfAbsent(group, g -> new RoaringBitmap()).add(ordinal);
+            }
+
+            courses.values().forEach(members -> members.remove(ordinal));
+            courseIds.forEach(courseId -> courses.computeIfAbsent(courseId, c -> new RoaringBitmap()).add(ordinal));
+        }
+
+        void remove(Collection<UUID> removed) {
+            for (UUID id : removed) {
+                Integer ordinal = ordinals.get(id);
+                if (ordinal == null) {
+                    continue;
+                }
+                all.remove(ordinal);
+                String group = groupOf.set(ordinal, null);
+                if (group != null) {
+                    groups.get(group).remove(ordinal);
+                }
+                courses.values().forEach(members -> members.remove(ordinal));
+            }
+        }
+
+        void link(UUID courseId, Collection<UUID> linked) {
+            RoaringBitmap members = courses.computeIfAbsent(courseId, c -> new RoaringBitmap());
+            for (UUID id : linked) {
+                int ordinal = ordinal(id);
+                all.add(ordinal);
+                members.add(ordinal);
+            }
+        }
+
+        void unlink(UUID courseId, Collection<UUID> unlinked) {
+            RoaringBitmap members = courses.get(courseId);
+            if (members == null) {
+                return;
+            }
+            unlinked.stream()
+                    .map(ordinals::get)
+                    .filter(Objects::nonNull)
+                    .forEach(members::remove);
+        }
+
+        void removeCourses(Collection<UUID> courseIds) {
+            courseIds.forEach(courses::remove);
+        }
+
+        private int ordinal(UUID id) {
+            return ordinals.computeIfAbsent(id, key -> {
+                ids.add(key);
+                groupOf.add(null);
+                return ids.size() - 1;
+            });
+        }
+
+        private static RoaringBitmap[] bitmaps(Map<?, RoaringBitmap> index, List<UUID> keys) {
+            return keys.stream()
+                    .map(key -> index.getOrDefault(key, EMPTY))
+                    .toArray(RoaringBitmap[]::new);
+        }
+
+        private static boolean isEmpty(List<?> list) {
+            return list == null || list.isEmpty();
+        }
+    }
+
+}
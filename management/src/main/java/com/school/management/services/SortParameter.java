@@ -0,0 +1,37 @@
+package com.school.management.services;
+
+import java.util.Set;
+
+import org.springframework.data.domain.Sort;
+
+/**
+ * Parses the {@code sort} query parameter of the listings and rosters.
+ */
+final class SortParameter {
+
+    private SortParameter() {
+    }
+
+    /**
+     * Turns {@code property[,asc|desc]} into a sort on that property, then on ID so
+     * that pages do not overlap.
+     *
+     * @param sort       The parameter, or null or blank for the default property.
+     * @param fallback   The property to sort by when the parameter is missing.
+     * @param properties The properties that may be sorted by.
+     * @param subject    What is sorted, for the error message.
+     * @throws IllegalArgumentException If the property or direction is unknown.
+     */
+    static Sort parse(String sort, String fallback, Set<String> properties, String subject) {
+        String[] parts = sort == null || sort.isBlank() ? new String[] { fallback } : sort.split(",");
+        String property = parts[0].trim();
+        if (!properties.contains(property)) {
+            throw new IllegalArgumentException("Cannot sort " + subject + " by " + property);
+        }
+        Sort.Direction direction = parts.length > 1 ? Sort.Direction.fromString(parts[1].trim()) : Sort.Direction.ASC;
+
+        Sort result = Sort.by(direction, property);
+        return "id".equals(property) ? result : result.and(Sort.by("id"));
+    }
+
+}
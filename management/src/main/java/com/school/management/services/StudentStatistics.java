@@ -0,0 +1,133 @@
+package com.school.management.services;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.school.management.dto.EnrollmentStatistics;
+import com.school.management.dto.ImportRow;
+import com.school.management.dto.StudentMembership;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Student counts per course, group and age, so dashboards read counters instead of
+ * scanning students. The counters are a {@link DerivedState}, adjusted as the services
+ * add, update, enroll, deregister, import and delete students, and recounted every
+ * {@code school.statistics.reconcile-interval}.
+ */
+@Component
+public class StudentStatistics {
+
+    private final EntityManager entityManager;
+
+    private final DerivedState<Counters> counters;
+
+    public StudentStatistics(EntityManager entityManager) {
+        this.entityManager = entityManager;
+        this.counters = new DerivedState<>("student statistics", this::load);
+    }
+
+    public EnrollmentStatistics get() {
+        return counters.get().snapshot();
+    }
+
+    public void added(String group, Integer age, Collection<UUID> courseIds) {
+        update(counters -> counters.add(group, age, courseIds, 1));
+    }
+
+    public void imported(List<ImportRow> rows) {
+        List<ImportRow> imported = List.copyOf(rows);
+        update(counters -> imported.forEach(row -> counters.add(row.group(), row.age(), List.of(), 1)));
+    }
+
+    /**
+     * Removes students, given as the rows of
+     * {@code StudentsRepository.findMemberships}.
+     */
+    public void removed(Collection<StudentMembership> memberships) {
+        Map<UUID, List<StudentMembership>> byStudent = memberships.stream()
+                .collect(Collectors.groupingBy(StudentMembership::studentId));
+
+        update(counters -> byStudent.values().forEach(rows -> {
+            StudentMembership student = rows.get(0);
+            List<UUID> courseIds = rows.stream().map(StudentMembership::courseId).filter(Objects::nonNull).toList();
+            counters.add(student.group(), student.age(), courseIds, -1);
+        }));
+    }
+
+    public void enrolled(UUID courseId, long students) {
+        update(counters -> Counters.adjust(counters.perCourse, courseId, students));
+    }
+
+    @Scheduled(fixedDelayString = "${school.statistics.reconcile-interval}",
+            initialDelayString = "${school.statistics.reconcile-interval}")
+    public void reconcile() {
+        counters.reload();
+    }
+
+    private void update(Consumer<Counters> change) {
+        counters.update(change);
+    }
+
+    private Counters load() {
+        Counters loaded = new Counters();
+        loaded.students.set(entityManager.createQuery("select count(s) from Student s", Long.class)
+                .getSingleResult());
+        entityManager.createQuery("select c.id, count(s) from Student s join s.courses c group by c.id", Object[].class)
+                .getResultList()
+                .forEach(row -> loaded.perCourse.put((UUID) row[0], (Long) row[1]));
+        entityManager.createQuery("select s.group, count(s) from Student s where s.group is not null group by s.group",
+                Object[].class)
+                .getResultList()
+                .forEach(row -> loaded.perGroup.put((String) row[0], (Long) row[1]));
+        entityManager.createQuery("select s.age, count(s) from Student s where s.age is not null group by s.age",
+                Object[].class)
+                .getResultList()
+                .forEach(row -> loaded.perAge.put((Integer) row[0], (Long) row[1]));
+        return loaded;
+    }
+
+    private static final class Counters {
+
+        private final AtomicLong students = new AtomicLong();
+
+        private final Map<UUID, Long> perCourse = new ConcurrentHashMap<>();
+
+        private final Map<String, Long> perGroup = new ConcurrentHashMap<>();
+
+        private final Map<Integer, Long> perAge = new ConcurrentHashMap<>();
+
+        void add(String group, Integer age, Collection<UUID> courseIds, long delta) {
+            students.addAndGet(delta);
+            adjust(perGroup, group, delta);
+            adjust(perAge, age, delta);
+            courseIds.forEach(courseId -> adjust(perCourse, courseId, delta));
+        }
+
+        EnrollmentStatistics snapshot() {
+            return new EnrollmentStatistics(students.get(), Map.copyOf(perCourse), new TreeMap<>(perGroup),
+                    new TreeMap<>(perAge));
+        }
+
+        /**
+         * Adds the delta to the counter of the key, dropping counters that reach zero.
+         */
+        static <K> void adjust(Map<K, Long> counts, K key, long delta) {
+            if (key != null && delta != 0) {
+                counts.merge(key, delta, (count, change) -> count + change == 0 ? null : count + change);
+            }
+        }
+    }
+
+}
@@ -1,8 +1,15 @@
 package com.school.management.services;
 
+import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
+import com.school.management.dto.DeleteResult;
+import com.school.management.dto.EnrollmentStatistics;
+import com.school.management.dto.MemberFilter;
+import com.school.management.dto.NameMatch;
 import com.school.management.dto.PageResult;
+import com.school.management.dto.TotalMode;
 import com.school.management.dto.StudentDTO;
 import com.school.management.models.Student;
 
@@ -13,14 +20,62 @@ import com.school.management.models.Student;
 public interface StudentsService {
     
     /**
-     * Retrieves a paginated list of students matching the provided example probe.
+     * Retrieves a paginated list of students matching either the query-parameter
+     * filter or the example probe. Filters run as prepared queries shared by every
+     * request with the same conditions and sort order; probes are translated anew on
+     * every request. Passing both is rejected.
      *
-     * @param probe The example student to filter results.
+     * @param probe The example student to filter results, or null.
+     * @param filter The query-parameter filter and sort order, or null.
      * @param pageSize The number of results per page.
      * @param pageNumber The page number to retrieve.
+     * @param total How to fill in the total: counted, approximate, or skipped in favour of hasNext.
      * @return A page result containing the list of matching student DTOs.
      */
-    PageResult<StudentDTO> getAll(Student probe, Integer pageSize, Integer pageNumber);
+    PageResult<StudentDTO> getAll(Student probe, MemberFilter filter, Integer pageSize, Integer pageNumber,
+            TotalMode total);
+
+    /**
+     * Retrieves a keyset page of students matching the provided example probe,
+     * ordered by name and ID.
+     *
+     * @param probe The example student to filter results.
+     * @param pageSize The number of results per page.
+     * @param cursor The cursor returned with the previous page, or null for the first page.
+     * @param total How to fill in the total, or null to count on the first page only.
+     * @return A page result containing the matching student DTOs and the cursor of the next page.
+     */
+    PageResult<StudentDTO> scroll(Student probe, Integer pageSize, String cursor, TotalMode total);
+
+    /**
+     * Returns the number of students in total, per course, per group and per age,
+     * read from counters kept up to date by the writes of the services.
+     *
+     * @return The current enrollment statistics.
+     */
+    EnrollmentStatistics getStatistics();
+
+    /**
+     * Searches students by name, tolerating word order, missing word endings and small
+     * typos, optionally restricted to a group and an age range. Served from an
+     * in-memory index, best matches first.
+     *
+     * @param query The words to look for, not blank.
+     * @param group The group to restrict the search to, or null.
+     * @param minAge The minimum age, inclusive, or null.
+     * @param maxAge The maximum age, inclusive, or null.
+     * @param limit The maximum number of matches, or null for the default page size.
+     * @return The matching students with their scores.
+     */
+    List<NameMatch> search(String query, String group, Integer minAge, Integer maxAge, Integer limit);
+
+    /**
+     * Passes every student to the consumer, one at a time, without holding the whole
+     * result in memory.
+     *
+     * @param consumer The consumer to receive each student.
+     */
+    void exportAll(Consumer<Student> consumer);
 
     /**
      * Adds a new student to the system.
@@ -45,4 +100,13 @@ public interface StudentsService {
      */
     void delete(UUID id);
 
+    /**
+     * Deletes the students with the given IDs, and their course memberships, in a
+     * few set-based statements.
+     *
+     * @param ids The IDs of the students to delete.
+     * @return The number of deleted students and the outcome of every ID.
+     */
+    DeleteResult deleteAll(List<UUID> ids);
+
 }
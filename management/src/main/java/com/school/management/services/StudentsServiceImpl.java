@@ -1,32 +1,83 @@
 package com.school.management.services;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
 
 import org.springframework.data.domain.Example;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.school.management.constants.Constants;
+import com.school.management.dto.ChangeType;
 import com.school.management.dto.CourseDTO;
+import com.school.management.dto.DeleteResult;
+import com.school.management.dto.EnrollmentStatistics;
+import com.school.management.dto.MemberFilter;
+import com.school.management.dto.NameMatch;
 import com.school.management.dto.PageResult;
 import com.school.management.dto.StudentDTO;
+import com.school.management.dto.StudentMembership;
+import com.school.management.dto.TotalMode;
+import com.school.management.models.Course;
 import com.school.management.models.Student;
+import com.school.management.repositories.ExampleSpecifications;
+import com.school.management.repositories.KeysetCursor;
+import com.school.management.repositories.KeysetSpecifications;
 import com.school.management.repositories.StudentsRepository;
 
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 
 @Service
+@Timed("school.service")
 @RequiredArgsConstructor
 public class StudentsServiceImpl implements StudentsService {
 
+    private static final Set<String> SORT_PROPERTIES = Set.of("id", "name", "age", "group");
+
     private final StudentsRepository studentsRepository;
 
+    private final EntityManager entityManager;
+
+    private final CourseCache courseCache;
+
+    private final ApproximateTotals approximateTotals;
+
+    private final RosterIndex rosterIndex;
+
+    private final StudentStatistics studentStatistics;
+
+    private final ChangeStamps changeStamps;
+
+    private final NameIndex nameIndex;
+
+    private final ChangeLog changeLog;
+
+    private final ReplicaReads replicaReads;
+
     @Override
-    public PageResult<StudentDTO> getAll(Student probe, Integer pageSize, Integer pageNumber) {
+    @Transactional(readOnly = true)
+    public PageResult<StudentDTO> getAll(Student probe, MemberFilter filter, Integer pageSize, Integer pageNumber,
+            TotalMode total) {
+        return replicaReads.run(() -> listPage(probe, filter, pageSize, pageNumber, total));
+    }
+
+    private PageResult<StudentDTO> listPage(Student probe, MemberFilter filter, Integer pageSize, Integer pageNumber,
+            TotalMode total) {
         if (pageSize == null || pageSize < 1) {
             pageSize = Constants.DEFAULT_PAGE_SIZE;
         }
@@ -35,46 +86,192 @@ public class StudentsServiceImpl implements StudentsService {
             pageNumber = Constants.DEFAULT_PAGE_NUMBER;
         }
 
+        if (filter == null) {
+            filter = MemberFilter.NONE;
+        }
+
         if (probe == null) {
-            probe = new Student();
+            return getAll(filter, PageRequest.of(pageNumber, pageSize,
+                    SortParameter.parse(filter.sort(), "id", SORT_PROPERTIES, "students")), total);
+        }
+
+        if (!filter.equals(MemberFilter.NONE)) {
+            throw new IllegalArgumentException("Filter either with query parameters or with a probe, not both");
         }
 
         Pageable pageable = PageRequest.of(pageNumber, pageSize);
         Example<Student> example = Example.of(probe);
-        Page<Student> page = studentsRepository.findAll(example, pageable);
-        List<StudentDTO> dtos = page.getContent().stream()
-                .map(this::toDTO)
-                .toList();
-        return new PageResult<>(dtos, page.getTotalElements());
+        Specification<Student> spec = ExampleSpecifications.matching(example);
+
+        if (total == TotalMode.NONE) {
+            Slice<StudentDTO> slice = studentsRepository.findDTOSlice(spec, pageable);
+            return new PageResult<>(slice.getContent(), null, null, slice.hasNext());
+        }
+
+        List<StudentDTO> dtos = studentsRepository.findDTOs(spec, pageable);
+        Page<StudentDTO> page = PageableExecutionUtils.getPage(dtos, pageable, () -> count(example, total));
+        return new PageResult<>(page.getContent(), page.getTotalElements(), null, page.hasNext());
+    }
+
+    private PageResult<StudentDTO> getAll(MemberFilter filter, Pageable pageable, TotalMode total) {
+        if (total == TotalMode.NONE) {
+            Slice<StudentDTO> slice = studentsRepository.findDTOSlice(filter, pageable);
+            return new PageResult<>(slice.getContent(), null, null, slice.hasNext());
+        }
+
+        List<StudentDTO> dtos = studentsRepository.findDTOs(filter, pageable);
+        Page<StudentDTO> page = PageableExecutionUtils.getPage(dtos, pageable, () -> count(filter, total));
+        return new PageResult<>(page.getContent(), page.getTotalElements(), null, page.hasNext());
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public PageResult<StudentDTO> scroll(Student probe, Integer pageSize, String cursor, TotalMode total) {
+        return replicaReads.run(() -> scrollPage(probe, pageSize, cursor, total));
+    }
+
+    private PageResult<StudentDTO> scrollPage(Student probe, Integer pageSize, String cursor, TotalMode total) {
+        if (pageSize == null || pageSize < 1) {
+            pageSize = Constants.DEFAULT_PAGE_SIZE;
+        }
+
+        if (probe == null) {
+            probe = new Student();
+        }
+
+        Example<Student> example = Example.of(probe);
+        KeysetCursor after = cursor == null || cursor.isBlank() ? null : KeysetCursor.decode(cursor);
+        List<StudentDTO> rows = studentsRepository.findDTOs(KeysetSpecifications.matchingAfter(example, after),
+                PageRequest.ofSize(pageSize + 1));
+
+        List<StudentDTO> items = rows.subList(0, Math.min(rows.size(), pageSize));
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            StudentDTO last = items.get(items.size() - 1);
+            nextCursor = new KeysetCursor(last.getName(), last.getId()).encode();
+        }
+
+        if (total == null) {
+            total = after == null ? TotalMode.EXACT : TotalMode.NONE;
+        }
+
+        Long count = total == TotalMode.NONE ? null : count(example, total);
+        return new PageResult<>(items, count, nextCursor, nextCursor != null);
+    }
+
+    private long count(MemberFilter filter, TotalMode total) {
+        return total == TotalMode.APPROXIMATE && filter.matchesAll()
+                ? approximateTotals.get(Student.class)
+                : studentsRepository.countMatching(filter);
+    }
+
+    private long count(Example<Student> example, TotalMode total) {
+        return total == TotalMode.APPROXIMATE && ApproximateTotals.matchesAll(example)
+                ? approximateTotals.get(Student.class)
+                : studentsRepository.count(example);
+    }
+
+    @Override
+    public List<NameMatch> search(String query, String group, Integer minAge, Integer maxAge, Integer limit) {
+        return nameIndex.search(Student.class, query, group, minAge, maxAge, limit);
+    }
+
+    @Override
+    public EnrollmentStatistics getStatistics() {
+        return studentStatistics.get();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportAll(Consumer<Student> consumer) {
+        replicaReads.run(() -> {
+            try (Stream<Student> students = studentsRepository.streamAll()) {
+                students.forEach(student -> {
+                    consumer.accept(student);
+                    entityManager.detach(student);
+                });
+            }
+        });
+    }
+
+    @Override
+    @Transactional
     public Student add(Student student) {
-        return studentsRepository.save(student);
+        Student saved = studentsRepository.save(student);
+        changeLog.changed(ChangeType.STUDENT, List.of(saved.getId()));
+        changeLog.memberships(ChangeType.ENROLLMENT, saved.getId(), List.of(), courseIds(saved));
+        approximateTotals.adjust(Student.class, 1);
+        rosterIndex.put(Student.class, saved.getId(), saved.getGroup(), courseIds(saved));
+        nameIndex.put(Student.class, saved.getId(), saved.getName(), saved.getGroup(), saved.getAge());
+        studentStatistics.added(saved.getGroup(), saved.getAge(), courseIds(saved));
+        changeStamps.touch(Student.class);
+        return saved;
     }
 
     @Override
+    @Transactional
     public Student update(Student student) {
 
         if (student.getId() == null) {
             throw new IllegalArgumentException("Student ID cannot be null");
         }
 
-        if (!studentsRepository.existsById(student.getId())) {
+        List<StudentMembership> previous = studentsRepository.findMemberships(List.of(student.getId()));
+        if (previous.isEmpty()) {
             throw new EntityNotFoundException();
         }
 
-        return studentsRepository.save(student);
+        if (student.getVersion() == null) {
+            student.setVersion(studentsRepository.findVersionById(student.getId())
+                    .orElseThrow(EntityNotFoundException::new));
+        }
+
+        Student updated = studentsRepository.save(student);
+        changeLog.changed(ChangeType.STUDENT, List.of(updated.getId()));
+        changeLog.memberships(ChangeType.ENROLLMENT, updated.getId(),
+                previous.stream().map(StudentMembership::courseId).filter(Objects::nonNull).toList(),
+                courseIds(updated));
+        courseCache.evictStudentRosters();
+        rosterIndex.put(Student.class, updated.getId(), updated.getGroup(), courseIds(updated));
+        nameIndex.put(Student.class, updated.getId(), updated.getName(), updated.getGroup(), updated.getAge());
+        studentStatistics.removed(previous);
+        studentStatistics.added(updated.getGroup(), updated.getAge(), courseIds(updated));
+        changeStamps.touch(Student.class);
+        return updated;
     }
 
     @Override
+    @Transactional
     public void delete(UUID id) {
-
-        if (!studentsRepository.existsById(id)) {
+        if (deleteAll(List.of(id)).getDeleted() == 0) {
             throw new EntityNotFoundException();
         }
+    }
+
+    @Override
+    @Transactional
+    public DeleteResult deleteAll(List<UUID> ids) {
+        List<StudentMembership> removed = new ArrayList<>();
+        DeleteResult result = BatchDelete.run(ids, chunk -> {
+            List<StudentMembership> memberships = studentsRepository.findMemberships(chunk);
+            removed.addAll(memberships);
+            return memberships.stream().map(StudentMembership::studentId).distinct().toList();
+        }, UnaryOperator.identity(), studentsRepository::deleteAllByIds);
+
+        if (result.getDeleted() > 0) {
+            approximateTotals.adjust(Student.class, -result.getDeleted());
+            courseCache.evictStudentRosters();
+            rosterIndex.remove(Student.class, result.deletedIds());
+            changeLog.deleted(ChangeType.STUDENT, result.deletedIds());
+            nameIndex.remove(Student.class, result.deletedIds());
+            studentStatistics.removed(removed);
+            changeStamps.touch(Student.class);
+        }
+        return result;
+    }
 
-        studentsRepository.deleteById(id);
+    private static List<UUID> courseIds(Student student) {
+        return student.getCourses().stream().map(Course::getId).toList();
     }
 
     public StudentDTO toDTO(Student student) {
@@ -1,8 +1,14 @@
 package com.school.management.services;
 
+import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
+import com.school.management.dto.DeleteResult;
+import com.school.management.dto.MemberFilter;
+import com.school.management.dto.NameMatch;
 import com.school.management.dto.PageResult;
+import com.school.management.dto.TotalMode;
 import com.school.management.dto.TeacherDTO;
 import com.school.management.models.Teacher;
 
@@ -13,14 +19,52 @@ import com.school.management.models.Teacher;
 public interface TeachersService {
 
     /**
-     * Retrieves a paginated list of teachers matching the provided example probe.
+     * Retrieves a paginated list of teachers matching either the query-parameter
+     * filter or the example probe. Passing both is rejected.
      *
-     * @param probe The example teacher to filter results.
+     * @param probe The example teacher to filter results, or null.
+     * @param filter The query-parameter filter and sort order, or null.
      * @param pageSize The number of results per page.
      * @param offset The page number to retrieve.
+     * @param total How to fill in the total: counted, approximate, or skipped in favour of hasNext.
      * @return A page result containing the list of matching teacher DTOs.
      */
-    PageResult<TeacherDTO> getAll(Teacher probe, Integer pageSize, Integer offset);
+    PageResult<TeacherDTO> getAll(Teacher probe, MemberFilter filter, Integer pageSize, Integer offset,
+            TotalMode total);
+
+    /**
+     * Retrieves a keyset page of teachers matching the provided example probe,
+     * ordered by name and ID.
+     *
+     * @param probe The example teacher to filter results.
+     * @param pageSize The number of results per page.
+     * @param cursor The cursor returned with the previous page, or null for the first page.
+     * @param total How to fill in the total, or null to count on the first page only.
+     * @return A page result containing the matching teacher DTOs and the cursor of the next page.
+     */
+    PageResult<TeacherDTO> scroll(Teacher probe, Integer pageSize, String cursor, TotalMode total);
+
+    /**
+     * Searches teachers by name, tolerating word order, missing word endings and small
+     * typos, optionally restricted to a group and an age range. Served from an
+     * in-memory index, best matches first.
+     *
+     * @param query The words to look for, not blank.
+     * @param group The group to restrict the search to, or null.
+     * @param minAge The minimum age, inclusive, or null.
+     * @param maxAge The maximum age, inclusive, or null.
+     * @param limit The maximum number of matches, or null for the default page size.
+     * @return The matching teachers with their scores.
+     */
+    List<NameMatch> search(String query, String group, Integer minAge, Integer maxAge, Integer limit);
+
+    /**
+     * Passes every teacher to the consumer, one at a time, without holding the whole
+     * result in memory.
+     *
+     * @param consumer The consumer to receive each teacher.
+     */
+    void exportAll(Consumer<Teacher> consumer);
 
     /**
      * Adds a new teacher to the system.
@@ -45,4 +89,13 @@ public interface TeachersService {
      */
     void delete(UUID id);
 
+    /**
+     * Deletes the teachers with the given IDs, and their course memberships, in a
+     * few set-based statements.
+     *
+     * @param ids The IDs of the teachers to delete.
+     * @return The number of deleted teachers and the outcome of every ID.
+     */
+    DeleteResult deleteAll(List<UUID> ids);
+
 }
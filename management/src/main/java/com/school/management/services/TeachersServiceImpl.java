@@ -1,32 +1,77 @@
 package com.school.management.services;
 
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
 
 import org.springframework.data.domain.Example;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.school.management.constants.Constants;
+import com.school.management.dto.ChangeType;
 import com.school.management.dto.CourseDTO;
+import com.school.management.dto.DeleteResult;
+import com.school.management.dto.MemberFilter;
+import com.school.management.dto.NameMatch;
 import com.school.management.dto.PageResult;
 import com.school.management.dto.TeacherDTO;
+import com.school.management.dto.TotalMode;
+import com.school.management.models.Course;
 import com.school.management.models.Teacher;
+import com.school.management.repositories.ExampleSpecifications;
+import com.school.management.repositories.KeysetCursor;
+import com.school.management.repositories.KeysetSpecifications;
 import com.school.management.repositories.TeachersRepository;
 
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 
 @Service
+@Timed("school.service")
 @RequiredArgsConstructor
 public class TeachersServiceImpl implements TeachersService {
 
+    private static final Set<String> SORT_PROPERTIES = Set.of("id", "name", "age", "group");
+
     private final TeachersRepository teachersRepository;
 
+    private final EntityManager entityManager;
+
+    private final CourseCache courseCache;
+
+    private final ApproximateTotals approximateTotals;
+
+    private final RosterIndex rosterIndex;
+
+    private final ChangeStamps changeStamps;
+
+    private final NameIndex nameIndex;
+
+    private final ChangeLog changeLog;
+
+    private final ReplicaReads replicaReads;
+
     @Override
-    public PageResult<TeacherDTO> getAll(Teacher probe, Integer pageSize, Integer pageNumber) {
+    @Transactional(readOnly = true)
+    public PageResult<TeacherDTO> getAll(Teacher probe, MemberFilter filter, Integer pageSize, Integer pageNumber,
+            TotalMode total) {
+        return replicaReads.run(() -> listPage(probe, filter, pageSize, pageNumber, total));
+    }
+
+    private PageResult<TeacherDTO> listPage(Teacher probe, MemberFilter filter, Integer pageSize, Integer pageNumber,
+            TotalMode total) {
         if (pageSize == null || pageSize < 1) {
             pageSize = Constants.DEFAULT_PAGE_SIZE;
         }
@@ -35,44 +80,174 @@ public class TeachersServiceImpl implements TeachersService {
             pageNumber = Constants.DEFAULT_PAGE_NUMBER;
         }
 
+        if (filter == null) {
+            filter = MemberFilter.NONE;
+        }
+
         if (probe == null) {
-            probe = new Teacher();
+            return getAll(filter, PageRequest.of(pageNumber, pageSize,
+                    SortParameter.parse(filter.sort(), "id", SORT_PROPERTIES, "teachers")), total);
+        }
+
+        if (!filter.equals(MemberFilter.NONE)) {
+            throw new IllegalArgumentException("Filter either with query parameters or with a probe, not both");
         }
 
         Pageable pageable = PageRequest.of(pageNumber, pageSize);
         Example<Teacher> example = Example.of(probe);
-        Page<Teacher> page = teachersRepository.findAll(example, pageable);
-        List<TeacherDTO> dtos = page.getContent().stream()
-                .map(this::toDTO)
-                .toList();
-        return new PageResult<>(dtos, page.getTotalElements());
+        Specification<Teacher> spec = ExampleSpecifications.matching(example);
+
+        if (total == TotalMode.NONE) {
+            Slice<TeacherDTO> slice = teachersRepository.findDTOSlice(spec, pageable);
+            return new PageResult<>(slice.getContent(), null, null, slice.hasNext());
+        }
+
+        List<TeacherDTO> dtos = teachersRepository.findDTOs(spec, pageable);
+        Page<TeacherDTO> page = PageableExecutionUtils.getPage(dtos, pageable, () -> count(example, total));
+        return new PageResult<>(page.getContent(), page.getTotalElements(), null, page.hasNext());
+    }
+
+    private PageResult<TeacherDTO> getAll(MemberFilter filter, Pageable pageable, TotalMode total) {
+        if (total == TotalMode.NONE) {
+            Slice<TeacherDTO> slice = teachersRepository.findDTOSlice(filter, pageable);
+            return new PageResult<>(slice.getContent(), null, null, slice.hasNext());
+        }
+
+        List<TeacherDTO> dtos = teachersRepository.findDTOs(filter, pageable);
+        Page<TeacherDTO> page = PageableExecutionUtils.getPage(dtos, pageable, () -> count(filter, total));
+        return new PageResult<>(page.getContent(), page.getTotalElements(), null, page.hasNext());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageResult<TeacherDTO> scroll(Teacher probe, Integer pageSize, String cursor, TotalMode total) {
+        return replicaReads.run(() -> scrollPage(probe, pageSize, cursor, total));
+    }
+
+    private PageResult<TeacherDTO> scrollPage(Teacher probe, Integer pageSize, String cursor, TotalMode total) {
+        if (pageSize == null || pageSize < 1) {
+            pageSize = Constants.DEFAULT_PAGE_SIZE;
+        }
+
+        if (probe == null) {
+            probe = new Teacher();
+        }
+
+        Example<Teacher> example = Example.of(probe);
+        KeysetCursor after = cursor == null || cursor.isBlank() ? null : KeysetCursor.decode(cursor);
+        List<TeacherDTO> rows = teachersRepository.findDTOs(KeysetSpecifications.matchingAfter(example, after),
+                PageRequest.ofSize(pageSize + 1));
+
+        List<TeacherDTO> items = rows.subList(0, Math.min(rows.size(), pageSize));
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            TeacherDTO last = items.get(items.size() - 1);
+            nextCursor = new KeysetCursor(last.getName(), last.getId()).encode();
+        }
+
+        if (total == null) {
+            total = after == null ? TotalMode.EXACT : TotalMode.NONE;
+        }
+
+        Long count = total == TotalMode.NONE ? null : count(example, total);
+        return new PageResult<>(items, count, nextCursor, nextCursor != null);
+    }
+
+    private long count(MemberFilter filter, TotalMode total) {
+        return total == TotalMode.APPROXIMATE && filter.matchesAll()
+                ? approximateTotals.get(Teacher.class)
+                : teachersRepository.countMatching(filter);
+    }
+
+    private long count(Example<Teacher> example, TotalMode total) {
+        return total == TotalMode.APPROXIMATE && ApproximateTotals.matchesAll(example)
+                ? approximateTotals.get(Teacher.class)
+                : teachersRepository.count(example);
+    }
+
+    @Override
+    public List<NameMatch> search(String query, String group, Integer minAge, Integer maxAge, Integer limit) {
+        return nameIndex.search(Teacher.class, query, group, minAge, maxAge, limit);
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public void exportAll(Consumer<Teacher> consumer) {
+        replicaReads.run(() -> {
+            try (Stream<Teacher> teachers = teachersRepository.streamAll()) {
+                teachers.forEach(teacher -> {
+                    consumer.accept(teacher);
+                    entityManager.detach(teacher);
+                });
+            }
+        });
+    }
+
+    @Override
+    @Transactional
     public Teacher add(Teacher teacher) {
-        return teachersRepository.save(teacher);
+        Teacher saved = teachersRepository.save(teacher);
+        changeLog.changed(ChangeType.TEACHER, List.of(saved.getId()));
+        changeLog.memberships(ChangeType.ASSIGNMENT, saved.getId(), List.of(), courseIds(saved));
+        approximateTotals.adjust(Teacher.class, 1);
+        rosterIndex.put(Teacher.class, saved.getId(), saved.getGroup(), courseIds(saved));
+        nameIndex.put(Teacher.class, saved.getId(), saved.getName(), saved.getGroup(), saved.getAge());
+        changeStamps.touch(Teacher.class);
+        return saved;
     }
 
     @Override
+    @Transactional
     public Teacher update(Teacher teacher) {
         if (teacher.getId() == null) {
             throw new IllegalArgumentException("Teacher ID cannot be null");
         }
 
-        if (!teachersRepository.existsById(teacher.getId())) {
-            throw new EntityNotFoundException();
+        Long version = teachersRepository.findVersionById(teacher.getId())
+                .orElseThrow(EntityNotFoundException::new);
+
+        if (teacher.getVersion() == null) {
+            teacher.setVersion(version);
         }
 
-        return teachersRepository.save(teacher);
+        List<UUID> previousCourseIds = teachersRepository.findCourseIds(teacher.getId());
+        Teacher updated = teachersRepository.save(teacher);
+        changeLog.changed(ChangeType.TEACHER, List.of(updated.getId()));
+        changeLog.memberships(ChangeType.ASSIGNMENT, updated.getId(), previousCourseIds, courseIds(updated));
+        courseCache.evictTeacherRosters();
+        rosterIndex.put(Teacher.class, updated.getId(), updated.getGroup(), courseIds(updated));
+        nameIndex.put(Teacher.class, updated.getId(), updated.getName(), updated.getGroup(), updated.getAge());
+        changeStamps.touch(Teacher.class);
+        return updated;
     }
 
     @Override
+    @Transactional
     public void delete(UUID id) {
-        if (!teachersRepository.existsById(id)) {
+        if (deleteAll(List.of(id)).getDeleted() == 0) {
             throw new EntityNotFoundException();
         }
+    }
+
+    @Override
+    @Transactional
+    public DeleteResult deleteAll(List<UUID> ids) {
+        DeleteResult result = BatchDelete.run(ids, teachersRepository::findExistingIds, UnaryOperator.identity(),
+                teachersRepository::deleteAllByIds);
+
+        if (result.getDeleted() > 0) {
+            approximateTotals.adjust(Teacher.class, -result.getDeleted());
+            courseCache.evictTeacherRosters();
+            rosterIndex.remove(Teacher.class, result.deletedIds());
+            changeLog.deleted(ChangeType.TEACHER, result.deletedIds());
+            nameIndex.remove(Teacher.class, result.deletedIds());
+            changeStamps.touch(Teacher.class);
+        }
+        return result;
+    }
 
-        teachersRepository.deleteById(id);
+    private static List<UUID> courseIds(Teacher teacher) {
+        return teacher.getCourses().stream().map(Course::getId).toList();
     }
 
     public TeacherDTO toDTO(Teacher teacher) {
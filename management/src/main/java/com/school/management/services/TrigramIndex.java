@@ -0,0 +1,346 @@
+package com.school.management.services;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+import java.util.regex.Pattern;
+
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+
+import com.school.management.dto.NameMatch;
+
+/**
+ * Trigram index over the names of one member type, for prefix and typo-tolerant
+ * search. Names are folded to lower case without accents and every word contributes
+ * the trigrams of {@code "  word "}, padded as in PostgreSQL's pg_trgm, so that the
+ * first letters of a word have trigrams of their own and even a one-letter query is a
+ * prefix lookup.
+ * <p>
+ * A query is answered with the names containing every trigram of its words, checked
+ * for each word starting a word of the name. When that yields fewer results than
+ * asked for, names sharing at least half of the query's trigrams are added as fuzzy
+ * matches. The group filter is a bitmap operation applied before any name is read and
+ * the age range is checked per candidate. At most {@value #MAX_CANDIDATES} names are
+ * scored per pass, which bounds the cost of one- and two-letter queries; names holding
+ * every query word as a whole word, which rank highest, are scored first, so they are
+ * found wherever they were inserted.
+ */
+public final class TrigramIndex {
+
+    private static final int MAX_CANDIDATES = 10_000;
+
+    private static final double FUZZY_THRESHOLD = 0.5;
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final RoaringBitmap EMPTY = new RoaringBitmap();
+
+    private static final Comparator<NameMatch> RANKING = Comparator.comparingDouble(NameMatch::score).reversed()
+            .thenComparing(NameMatch::name)
+            .thenComparing(NameMatch::id);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<UUID, Integer> ordinals = new HashMap<>();
+
+    private final List<UUID> ids = new ArrayList<>();
+
+    private final List<String> names = new ArrayList<>();
+
+    private final List<String> folded = new ArrayList<>();
+
+    private final List<String> groupOf = new ArrayList<>();
+
+    private final List<Integer> ageOf = new ArrayList<>();
+
+    private final RoaringBitmap all = new RoaringBitmap();
+
+    private final Map<String, RoaringBitmap> trigrams = new HashMap<>();
+
+    private final Map<String, RoaringBitmap> groups = new HashMap<>();
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return all.getCardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Adds the member, or replaces what is indexed for it.
+     */
+    public void put(UUID id, String name, String group, Integer age) {
+        lock.writeLock().lock();
+        try {
+            int ordinal = ordinals.computeIfAbsent(id, key -> {
+                ids.add(key);
+                names.add(null);
+                folded.add(null);
+                groupOf.add(null);
+                ageOf.add(null);
+                return ids.size() - 1;
+            });
+            clear(ordinal);
+
+            String foldedName = fold(name);
+            names.set(ordinal, name);
+            folded.set(ordinal, foldedName);
+            groupOf.set(ordinal, group);
+            ageOf.set(ordinal, age);
+
+            all.add(ordinal);
+            for (String trigram : trigrams(foldedName, false)) {
+                trigrams.computeIfAbsent(trigram, t -> new RoaringBitmap()).add(ordinal);
+            }
+            if (group != null) {
+                groups.computeIfAbsent(group, g -> new RoaringBitmap()).add(ordinal);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Collection<UUID> removed) {
+        lock.writeLock().lock();
+        try {
+            for (UUID id : removed) {
+                Integer ordinal = ordinals.get(id);
+                if (ordinal != null) {
+                    clear(ordinal);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} members whose names match the query, best first,
+     * optionally restricted to a group and an age range.
+     */
+    public List<NameMatch> search(String query, String group, Integer minAge, Integer maxAge, int limit) {
+        String foldedQuery = fold(query);
+        if (foldedQuery.isEmpty() || limit < 1) {
+            return List.of();
+        }
+        String[] terms = foldedQuery.split(" ");
+        List<String> queryTrigrams = new ArrayList<>(trigrams(foldedQuery, true));
+
+        lock.readLock().lock();
+        try {
+            RoaringBitmap inGroup = group == null ? null : groups.getOrDefault(group, EMPTY);
+            IntPredicate inAgeRange = ageRange(minAge, maxAge);
+            RoaringBitmap[] postings = queryTrigrams.stream()
+                    .map(trigram -> trigrams.getOrDefault(trigram, EMPTY))
+                    .sorted(Comparator.comparingInt(RoaringBitmap::getCardinality))
+                    .toArray(RoaringBitmap[]::new);
+
+            PriorityQueue<NameMatch> best = new PriorityQueue<>(limit + 1, RANKING.reversed());
+
+            RoaringBitmap containingAll = FastAggregation.and(postings);
+            if (inGroup != null) {
+                containingAll.and(inGroup);
+            }
+            IntConsumer scoreContainingAll = ordinal -> offer(best, limit, ordinal,
+                    score(ordinal, foldedQuery, terms, postings.length, postings.length));
+            RoaringBitmap wholeWords = containingAll.clone();
+            for (String trigram : wholeWordTrigrams(terms)) {
+                wholeWords.and(trigrams.getOrDefault(trigram, EMPTY));
+            }
+            int budget = forEachCandidate(wholeWords, inAgeRange, MAX_CANDIDATES, scoreContainingAll);
+            forEachCandidate(RoaringBitmap.andNot(containingAll, wholeWords), inAgeRange, budget,
+                    scoreContainingAll);
+
+            int required = (int) Math.ceil(FUZZY_THRESHOLD * postings.length);
+            if (best.size() < limit && postings.length >= 3) {
+                // a name holding `required` of the trigrams holds one of the n - required + 1 rarest
+                RoaringBitmap candidates = FastAggregation.or(
+                        Arrays.copyOf(postings, postings.length - required + 1));
+                if (inGroup != null) {
+                    candidates.and(inGroup);
+                }
+                candidates.andNot(containingAll);
+                forEachCandidate(candidates, inAgeRange, MAX_CANDIDATES, ordinal -> {
+                    int shared = 0;
+                    for (RoaringBitmap posting : postings) {
+                        if (posting.contains(ordinal)) {
+                            shared++;
+                        }
+                    }
+                    if (shared >= required) {
+                        offer(best, limit, ordinal, score(ordinal, foldedQuery, terms, shared, postings.length));
+                    }
+                });
+            }
+
+            List<NameMatch> matches = new ArrayList<>(best);
+            matches.sort(RANKING);
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Keeps the member among the best if it scores at least as well as the worst of
+     * them, creating its match only then.
+     */
+    private void offer(PriorityQueue<NameMatch> best, int limit, int ordinal, double score) {
+        double rounded = Math.round(score * 1000) / 1000.0;
+        if (best.size() == limit && rounded < best.peek().score()) {
+            return;
+        }
+        best.add(new NameMatch(ids.get(ordinal), names.get(ordinal), groupOf.get(ordinal), ageOf.get(ordinal),
+                rounded));
+        if (best.size() > limit) {
+            best.poll();
+        }
+    }
+
+    /**
+     * Passes up to {@code budget} candidates that pass the filter to the action, in
+     * insertion order, and returns how much of the budget is left.
+     */
+    private static int forEachCandidate(RoaringBitmap candidates, IntPredicate filter, int budget,
+            IntConsumer action) {
+        PeekableIntIterator ordinals = candidates.getIntIterator();
+        int left = budget;
+        while (ordinals.hasNext() && left > 0) {
+            int ordinal = ordinals.next();
+            if (filter.test(ordinal)) {
+                action.accept(ordinal);
+                left--;
+            }
+        }
+        return left;
+    }
+
+    /**
+     * Returns the trigram ending each query word, padded as at the end of an indexed
+     * word, which only names holding the query word as a whole word contain.
+     */
+    private static Set<String> wholeWordTrigrams(String[] terms) {
+        Set<String> result = new LinkedHashSet<>();
+        for (String term : terms) {
+            String padded = "  " + term + " ";
+            result.add(padded.substring(padded.length() - 3));
+        }
+        return result;
+    }
+
+    /**
+     * Scores a candidate sharing {@code shared} of the query's {@code total} trigrams:
+     * the shared fraction, plus 1 when every query word starts a word of the name, plus
+     * small bonuses for whole words and a matching start, minus a little per extra
+     * letter so that closer names rank first.
+     */
+    private double score(int ordinal, String query, String[] terms, int shared, int total) {
+        String name = folded.get(ordinal);
+        String[] words = name.split(" ");
+
+        int prefixes = 0;
+        int whole = 0;
+        for (String term : terms) {
+            boolean prefix = false;
+            for (String word : words) {
+                if (word.equals(term)) {
+                    whole++;
+                    prefix = true;
+                    break;
+                }
+                prefix |= word.startsWith(term);
+            }
+            if (prefix) {
+                prefixes++;
+            }
+        }
+
+        double score = (double) shared / total;
+        if (prefixes == terms.length) {
+            score += 1 + 0.25 * whole / terms.length + (name.startsWith(query) ? 0.25 : 0);
+        }
+        return score - Math.min(0.2, Math.max(0, name.length() - query.length()) * 0.001);
+    }
+
+    /**
+     * Returns whether the member is in the age range; members without an age are only
+     * in the unbounded range.
+     */
+    private IntPredicate ageRange(Integer minAge, Integer maxAge) {
+        if (minAge == null && maxAge == null) {
+            return ordinal -> true;
+        }
+        return ordinal -> {
+            Integer age = ageOf.get(ordinal);
+            return age != null && (minAge == null || age >= minAge) && (maxAge == null || age <= maxAge);
+        };
+    }
+
+    private void clear(int ordinal) {
+        if (!all.contains(ordinal)) {
+            return;
+        }
+        all.remove(ordinal);
+        for (String trigram : trigrams(folded.get(ordinal), false)) {
+            RoaringBitmap posting = trigrams.get(trigram);
+            posting.remove(ordinal);
+            if (posting.isEmpty()) {
+                trigrams.remove(trigram);
+            }
+        }
+        String group = groupOf.get(ordinal);
+        if (group != null) {
+            groups.get(group).remove(ordinal);
+        }
+    }
+
+    /**
+     * Lower-cases the text, strips accents and reduces everything but letters and
+     * digits to single blanks.
+     */
+    static String fold(String text) {
+        if (text == null) {
+            return "";
+        }
+        String stripped = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return SEPARATORS.matcher(stripped.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    /**
+     * Returns the trigrams of every word of the folded text. Query words are taken as
+     * prefixes, so they are not padded at the end.
+     */
+    static Set<String> trigrams(String foldedText, boolean prefixes) {
+        Set<String> result = new LinkedHashSet<>();
+        if (foldedText.isEmpty()) {
+            return result;
+        }
+        for (String word : foldedText.split(" ")) {
+            String padded = "  " + word + (prefixes ? "" : " ");
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                result.add(padded.substring(i, i + 3));
+            }
+        }
+        return result;
+    }
+}
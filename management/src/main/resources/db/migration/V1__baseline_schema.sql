@@ -0,0 +1,44 @@
+-- Schema as previously created by spring.jpa.hibernate.ddl-auto=update
+
+create table courses (
+    id uuid not null,
+    name varchar(255),
+    course_type tinyint check (course_type between 0 and 1),
+    primary key (id)
+);
+
+create table students (
+    id uuid not null,
+    name varchar(255),
+    age integer,
+    student_group varchar(255),
+    primary key (id)
+);
+
+create table teachers (
+    id uuid not null,
+    name varchar(255),
+    age integer,
+    teacher_group varchar(255),
+    primary key (id)
+);
+
+create table student_course (
+    course_id uuid not null,
+    student_id uuid not null,
+    primary key (course_id, student_id),
+    constraint fk_student_course_course foreign key (course_id) references courses,
+    constraint fk_student_course_student foreign key (student_id) references students
+);
+
+create table teacher_course (
+    course_id uuid not null,
+    teacher_id uuid not null,
+    primary key (course_id, teacher_id),
+    constraint fk_teacher_course_course foreign key (course_id) references courses,
+    constraint fk_teacher_course_teacher foreign key (teacher_id) references teachers
+);
+
+create index idx_courses_name_id on courses (name, id);
+create index idx_students_name_id on students (name, id);
+create index idx_teachers_name_id on teachers (name, id);
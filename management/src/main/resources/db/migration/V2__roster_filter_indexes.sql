@@ -0,0 +1,13 @@
+-- Rosters (CoursesServiceImpl.getStudents/getTeachers) join from the course side,
+-- which the (course_id, member_id) primary keys already serve. Group and age filters
+-- (StudentSpecifications/TeacherSpecifications and query-by-example listings) use
+-- the (group, age) indexes; age-only filters use the age indexes.
+
+create index idx_students_group_age on students (student_group, age);
+create index idx_students_age on students (age);
+create index idx_teachers_group_age on teachers (teacher_group, age);
+create index idx_teachers_age on teachers (age);
+
+-- Member-side lookups: the courses of a listing page and deregistration
+create index idx_student_course_student_course on student_course (student_id, course_id);
+create index idx_teacher_course_teacher_course on teacher_course (teacher_id, course_id);
@@ -0,0 +1,7 @@
+-- Optimistic-locking versions (@Version) of students, teachers and courses. Rows
+-- inserted outside Hibernate, e.g. by BulkInsertRepository, start at version 0.
+
+alter table students add column version bigint default 0 not null;
+alter table teachers add column version bigint default 0 not null;
+alter table courses add column version bigint default 0 not null;
+
@@ -0,0 +1,19 @@
+-- Change log behind GET /changes (ChangeLog): one row per changed student, teacher or
+-- course and per changed course membership, numbered from change_seq. Deleted rows
+-- and removed memberships are recorded as tombstones (deleted = true). Rows that a
+-- later row for the same key supersedes are compacted away, found through the
+-- (entity_id, seq) index.
+
+create sequence change_seq;
+
+create table change_log (
+    seq bigint not null,
+    change_type varchar(16) not null,
+    entity_id uuid not null,
+    course_id uuid,
+    deleted boolean not null,
+    changed_at timestamp default current_timestamp not null,
+    primary key (seq)
+);
+
+create index idx_change_log_entity_seq on change_log (entity_id, seq);
@@ -0,0 +1,234 @@
+package com.school.tracking;
+
+import static com.school.management.constants.ApiConstants.CHANGES_URL;
+import static com.school.management.constants.ApiConstants.COURSES_URL;
+import static com.school.management.constants.ApiConstants.STUDENTS_URL;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.school.management.dto.ChangeFeed;
+import com.school.management.models.Course;
+import com.school.management.models.Student;
+import com.school.management.repositories.ChangeLogRepository;
+import com.school.management.services.ChangeLog;
+import com.school.management.services.StudentsService;
+
+@SpringBootTest(classes = com.school.management.TrackingApplication.class)
+@AutoConfigureMockMvc
+public class ChangesControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ChangeLogRepository changeLogRepository;
+
+    @Autowired
+    private ChangeLog changeLog;
+
+    @Autowired
+    private StudentsService studentsService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private long baseline;
+
+    @BeforeEach
+    void setUp() {
+        // every change recorded from here on is numbered above the baseline
+        baseline = changeLogRepository.nextSequence();
+    }
+
+    @Test
+    void shouldReturnChangesSinceSequenceWithTombstones() throws Exception {
+        Student student = new Student();
+        student.setName("John Doe");
+        student = create(STUDENTS_URL, student, Student.class);
+
+        Course course = new Course();
+        course.setName("Math 101");
+        course = create(COURSES_URL, course, Course.class);
+
+        mockMvc.perform(post(COURSES_URL + "/" + course.getId() + "/students")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(student.getId()))))
+                .andExpect(status().isOk());
+
+        ChangeFeed created = changes(baseline, null);
+        mockMvc.perform(get(CHANGES_URL).param("since", Long.toString(baseline)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes.length()").value(3))
+                .andExpect(jsonPath("$.changes[0].type").value("STUDENT"))
+                .andExpect(jsonPath("$.changes[0].data.name").value("John Doe"))
+                .andExpect(jsonPath("$.changes[1].type").value("COURSE"))
+                .andExpect(jsonPath("$.changes[1].data.name").value("Math 101"))
+                .andExpect(jsonPath("$.changes[2].type").value("ENROLLMENT"))
+                .andExpect(jsonPath("$.changes[2].id").value(student.getId().toString()))
+                .andExpect(jsonPath("$.changes[2].courseId").value(course.getId().toString()))
+                .andExpect(jsonPath("$.changes[2].deleted").value(false))
+                .andExpect(jsonPath("$.hasMore").value(false));
+
+        // the update is superseded by the delete within the page and left out
+        student.setName("John Smith");
+        mockMvc.perform(put(STUDENTS_URL)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(student)))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete(COURSES_URL + "/" + course.getId() + "/students")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(student.getId()))))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete(STUDENTS_URL + "/" + student.getId()))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get(CHANGES_URL).param("since", Long.toString(created.next())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes.length()").value(2))
+                .andExpect(jsonPath("$.changes[0].type").value("ENROLLMENT"))
+                .andExpect(jsonPath("$.changes[0].deleted").value(true))
+                .andExpect(jsonPath("$.changes[1].type").value("STUDENT"))
+                .andExpect(jsonPath("$.changes[1].deleted").value(true))
+                .andExpect(jsonPath("$.changes[1].data").doesNotExist());
+
+        ChangeFeed deleted = changes(created.next(), null);
+        assertThat(changes(deleted.next(), null).changes()).isEmpty();
+        assertThat(changes(deleted.next(), null).next()).isEqualTo(deleted.next());
+
+        // a smaller page tells that more changes are waiting
+        ChangeFeed first = changes(baseline, 1);
+        assertThat(first.changes()).hasSize(1);
+        assertThat(first.hasMore()).isTrue();
+
+        // compaction keeps the latest change of every key, including tombstones
+        assertThat(changeLog.compact()).isGreaterThan(0);
+        ChangeFeed compacted = changes(baseline, null);
+        assertThat(compacted.changes())
+                .extracting(change -> change.type() + ":" + change.deleted())
+                .containsExactly("COURSE:false", "ENROLLMENT:true", "STUDENT:true");
+        assertThat(compacted.next()).isEqualTo(deleted.next());
+    }
+
+    @Test
+    void shouldRecordOnlyLinksThatChanged() throws Exception {
+        Student enrolled = new Student();
+        enrolled.setName("Already Enrolled");
+        enrolled = create(STUDENTS_URL, enrolled, Student.class);
+        Student joining = new Student();
+        joining.setName("Joining Later");
+        joining = create(STUDENTS_URL, joining, Student.class);
+        Student outsider = new Student();
+        outsider.setName("Never Enrolled");
+        outsider = create(STUDENTS_URL, outsider, Student.class);
+
+        Course course = new Course();
+        course.setName("History 101");
+        course = create(COURSES_URL, course, Course.class);
+        String rosterUrl = COURSES_URL + "/" + course.getId() + "/students";
+
+        mockMvc.perform(post(rosterUrl)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(enrolled.getId()))))
+                .andExpect(status().isOk());
+        long before = changes(baseline, null).next();
+
+        // members that are already linked and unknown IDs leave no trace
+        mockMvc.perform(post(rosterUrl)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(enrolled.getId(), joining.getId(), UUID.randomUUID()))))
+                .andExpect(status().isOk());
+        ChangeFeed enrolling = changes(before, null);
+        assertThat(enrolling.changes())
+                .extracting(change -> change.id() + ":" + change.deleted())
+                .containsExactly(joining.getId() + ":false");
+
+        // nor do non-members and unknown IDs on deregistration
+        mockMvc.perform(delete(rosterUrl)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(joining.getId(), outsider.getId(), UUID.randomUUID()))))
+                .andExpect(status().isOk());
+        assertThat(changes(enrolling.next(), null).changes())
+                .extracting(change -> change.id() + ":" + change.deleted())
+                .containsExactly(joining.getId() + ":true");
+    }
+
+    @Test
+    void shouldNotServeChangesPastAnUncommittedOne() throws Exception {
+        CountDownLatch written = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> slowWrite = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(
+                status -> {
+                    Student student = new Student();
+                    student.setName("Slow Writer");
+                    studentsService.add(student);
+                    written.countDown();
+                    await(release);
+                }));
+        assertThat(written.await(10, TimeUnit.SECONDS)).isTrue();
+
+        Student student = new Student();
+        student.setName("Fast Writer");
+        create(STUDENTS_URL, student, Student.class);
+
+        // the committed change is numbered after the uncommitted one, so it is held back
+        assertThat(changes(baseline, null).changes()).isEmpty();
+
+        release.countDown();
+        slowWrite.get(10, TimeUnit.SECONDS);
+
+        assertThat(changes(baseline, null).changes())
+                .extracting(change -> (String) ((Map<?, ?>) change.data()).get("name"))
+                .containsExactly("Slow Writer", "Fast Writer");
+    }
+
+    private ChangeFeed changes(long since, Integer limit) throws Exception {
+        String response = mockMvc.perform(get(CHANGES_URL)
+                .param("since", Long.toString(since))
+                .param("limit", limit == null ? "" : limit.toString()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(response, ChangeFeed.class);
+    }
+
+    private <T> T create(String url, T body, Class<T> type) throws Exception {
+        String response = mockMvc.perform(post(url)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(body)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(response, type);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
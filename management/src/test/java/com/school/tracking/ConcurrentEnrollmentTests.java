@@ -0,0 +1,158 @@
+package com.school.tracking;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.school.management.dto.EnrollmentResult;
+import com.school.management.models.Course;
+import com.school.management.models.Student;
+import com.school.management.services.CoursesService;
+import com.school.management.services.RosterIndex;
+import com.school.management.services.StudentStatistics;
+import com.school.management.services.StudentsService;
+
+/**
+ * Enrolls and deregisters overlapping sets of students from many threads at once
+ * and checks that every membership change is counted exactly once and the roster
+ * ends up as if the requests had run one after another.
+ */
+@SpringBootTest(classes = com.school.management.TrackingApplication.class)
+class ConcurrentEnrollmentTests {
+
+    private static final int THREADS = 16;
+    private static final int STUDENTS = 400;
+    private static final int BATCH = 100;
+    private static final int ROUNDS = 10;
+
+    @Autowired
+    private CoursesService coursesService;
+
+    @Autowired
+    private StudentsService studentsService;
+
+    @Autowired
+    private StudentStatistics studentStatistics;
+
+    @Autowired
+    private RosterIndex rosterIndex;
+
+    private Course course;
+
+    private List<UUID> students;
+
+    @BeforeEach
+    void setUp() {
+        // load the counters and the index now, so the writes below update them incrementally
+        studentStatistics.get();
+        rosterIndex.count(Student.class, new RosterIndex.Match(List.of(), null, null, null));
+
+        course = new Course();
+        course.setName("Crowded 101");
+        course = coursesService.add(course);
+
+        List<UUID> created = new ArrayList<>();
+        for (int i = 0; i < STUDENTS; i++) {
+            Student student = new Student();
+            student.setName("Student " + i);
+            created.add(studentsService.add(student).getId());
+        }
+        students = created;
+    }
+
+    @AfterEach
+    void tearDown() {
+        studentsService.deleteAll(students);
+        coursesService.delete(course.getId());
+    }
+
+    @Test
+    void shouldEnrollAndDeregisterConcurrentlyWithoutLostOrDuplicatedUpdates() throws Exception {
+        UUID courseId = course.getId();
+
+        // every thread enrolls everybody, then overlapping batches that are already enrolled
+        List<EnrollmentResult> enrollments = concurrently(thread -> {
+            List<EnrollmentResult> results = new ArrayList<>();
+            results.add(coursesService.enrollStudentsInCourse(students, courseId));
+            for (int round = 0; round < ROUNDS; round++) {
+                results.add(coursesService.enrollStudentsInCourse(batch(thread * 37 + round * 53), courseId));
+            }
+            return results;
+        });
+
+        assertThat(enrollments).hasSize(THREADS * (ROUNDS + 1));
+        assertThat(enrollments.stream().mapToInt(EnrollmentResult::getAdded).sum()).isEqualTo(STUDENTS);
+        assertThat(enrollments).allSatisfy(result -> assertThat(result.getUnknown()).isZero());
+
+        // then all threads drop the even students and re-enroll the odd ones at the same time
+        List<UUID> even = IntStream.range(0, STUDENTS).filter(i -> i % 2 == 0).mapToObj(students::get).toList();
+        List<UUID> odd = IntStream.range(0, STUDENTS).filter(i -> i % 2 == 1).mapToObj(students::get).toList();
+        List<EnrollmentResult> reenrollments = concurrently(thread -> {
+            coursesService.deregisterStudentsFromCourse(even, courseId);
+            return List.of(coursesService.enrollStudentsInCourse(odd, courseId));
+        });
+        assertThat(reenrollments.stream().mapToInt(EnrollmentResult::getAdded).sum()).isZero();
+
+        assertThat(coursesService.countStudents(courseId, null, null)).isEqualTo(odd.size());
+        List<UUID> roster = coursesService.getStudents(courseId, null, null, STUDENTS, 0, null, null)
+                .getItems().stream().map(Student::getId).toList();
+        assertThat(roster).containsExactlyInAnyOrderElementsOf(odd);
+
+        assertThat(studentStatistics.get().getStudentsPerCourse()).containsEntry(courseId, (long) odd.size());
+        assertThat(rosterIndex.count(Student.class, new RosterIndex.Match(List.of(courseId), null, null, null)))
+                .isEqualTo(odd.size());
+    }
+
+    private List<UUID> batch(int offset) {
+        return IntStream.range(0, BATCH).mapToObj(i -> students.get((offset + i) % STUDENTS)).toList();
+    }
+
+    /**
+     * Runs the task on {@value #THREADS} threads released at the same moment and
+     * collects what they return, failing on the first error.
+     */
+    private <T> List<T> concurrently(ThreadTask<T> task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<List<T>>> futures = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                int index = thread;
+                Callable<List<T>> call = () -> {
+                    start.await();
+                    return task.run(index);
+                };
+                futures.add(executor.submit(call));
+            }
+            start.countDown();
+
+            List<T> results = new ArrayList<>();
+            for (Future<List<T>> future : futures) {
+                results.addAll(future.get(60, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @FunctionalInterface
+    private interface ThreadTask<T> {
+        List<T> run(int thread) throws Exception;
+    }
+}
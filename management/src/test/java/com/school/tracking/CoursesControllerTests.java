@@ -4,24 +4,37 @@ import static com.school.management.constants.ApiConstants.COURSES_URL;
 import static com.school.management.constants.ApiConstants.STUDENTS_URL;
 import static com.school.management.constants.ApiConstants.TEACHERS_URL;
 import static com.school.management.constants.ErrorMessageTemplate.CANNOT_DELETE_COURSE_WITH_STUDENTS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.school.management.config.SqlStatementCounter;
+import com.school.management.dto.CacheStatistics;
+import com.school.management.dto.EnrollmentOperation;
 import com.school.management.models.Course;
 import com.school.management.models.CourseType;
 import com.school.management.models.Student;
@@ -29,9 +42,12 @@ import com.school.management.models.Teacher;
 import com.school.management.repositories.CoursesRepository;
 import com.school.management.repositories.StudentsRepository;
 import com.school.management.repositories.TeachersRepository;
+import com.school.management.services.EnrollmentQueue;
+import com.school.management.services.RosterIndex;
 
 @SpringBootTest(classes = com.school.management.TrackingApplication.class)
 @AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
 public class CoursesControllerTests {
 
         @Autowired
@@ -49,6 +65,12 @@ public class CoursesControllerTests {
         @Autowired
         private TeachersRepository teachersRepository;
 
+        @Autowired
+        private RosterIndex rosterIndex;
+
+        @Autowired
+        private EnrollmentQueue enrollmentQueue;
+
         @BeforeEach
         void setUp() {
                 studentsRepository.deleteAll();
@@ -105,6 +127,31 @@ public class CoursesControllerTests {
                                 .andExpect(jsonPath("$.items[0].name").value("Math 101"));
         }
 
+        @Test
+        void shouldFilterAndSortCoursesWithQueryParameters() throws Exception {
+                for (Object[] row : new Object[][] { { "Algebra", CourseType.MAIN }, { "Biology", CourseType.MAIN },
+                                { "Chess", CourseType.SECONDARY } }) {
+                        Course course = new Course();
+                        course.setName((String) row[0]);
+                        course.setCourseType((CourseType) row[1]);
+                        coursesRepository.save(course);
+                }
+
+                mockMvc.perform(get(COURSES_URL).param("courseType", "MAIN").param("sort", "name,desc"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.total").value(2))
+                                .andExpect(jsonPath("$.items[0].name").value("Biology"))
+                                .andExpect(jsonPath("$.items[1].name").value("Algebra"));
+
+                mockMvc.perform(get(COURSES_URL).param("name", "Chess"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.items.length()").value(1))
+                                .andExpect(jsonPath("$.items[0].courseType").value("SECONDARY"));
+
+                mockMvc.perform(get(COURSES_URL).param("sort", "name,sideways"))
+                                .andExpect(status().isBadRequest());
+        }
+
         @Test
         void shouldUpdateCourse() throws Exception {
                 Course course = new Course();
@@ -192,6 +239,56 @@ public class CoursesControllerTests {
                                                 .value(CANNOT_DELETE_COURSE_WITH_STUDENTS.getMessage()));
         }
 
+        @Test
+        void shouldDeleteUnusedCoursesInBatch() throws Exception {
+                Course empty = new Course();
+                empty.setName("Empty");
+                Course taught = new Course();
+                taught.setName("Taught");
+                Course attended = new Course();
+                attended.setName("Attended");
+                coursesRepository.saveAll(List.of(empty, taught, attended));
+
+                Teacher teacher = new Teacher();
+                teacher.setName("Jane Smith");
+                teacher.setCourses(Set.of(taught));
+                teachersRepository.save(teacher);
+
+                Student student = new Student();
+                student.setName("John Doe");
+                student.setCourses(Set.of(attended));
+                studentsRepository.save(student);
+
+                UUID unknown = UUID.randomUUID();
+
+                mockMvc.perform(delete(COURSES_URL)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(
+                                                List.of(empty.getId(), taught.getId(), attended.getId(), unknown))))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.deleted").value(1))
+                                .andExpect(jsonPath("$.outcomes['" + empty.getId() + "']").value("DELETED"))
+                                .andExpect(jsonPath("$.outcomes['" + taught.getId() + "']").value("IN_USE"))
+                                .andExpect(jsonPath("$.outcomes['" + attended.getId() + "']").value("IN_USE"))
+                                .andExpect(jsonPath("$.outcomes['" + unknown + "']").value("NOT_FOUND"));
+
+                assertThat(coursesRepository.findAll()).extracting(Course::getName)
+                                .containsExactlyInAnyOrder("Taught", "Attended");
+
+                // a batch that deletes nothing leaves the listing unchanged, so its tag stays valid
+                String etag = mockMvc.perform(get(COURSES_URL))
+                                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+                mockMvc.perform(delete(COURSES_URL)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(List.of(taught.getId(), unknown))))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.deleted").value(0));
+
+                mockMvc.perform(get(COURSES_URL).header(HttpHeaders.IF_NONE_MATCH, etag))
+                                .andExpect(status().isNotModified());
+        }
+
         @Test
         void shouldDeregisterStudentsFromCourse() throws Exception {
                 // Add a course
@@ -246,7 +343,7 @@ public class CoursesControllerTests {
                 // Check if the students were deregistered
                 mockMvc.perform(get(COURSES_URL + "/" + createdCourse.getId() + "/students"))
                                 .andExpect(status().isOk())
-                                .andExpect(jsonPath("$.length()").value(0)); // Verify that the course has no students
+                                .andExpect(jsonPath("$.items.length()").value(0)); // Verify that the course has no students
         }
 
         @Test
@@ -303,8 +400,8 @@ public class CoursesControllerTests {
                                 .param("group", "Group A") // Optional filters
                                 .param("minAge", "18"))
                                 .andExpect(status().isOk())
-                                .andExpect(jsonPath("$.length()").value(1)) // Check that there is only one student
-                                .andExpect(jsonPath("$[0].name").value("John Doe"));
+                                .andExpect(jsonPath("$.items.length()").value(1)) // Check that there is only one student
+                                .andExpect(jsonPath("$.items[0].name").value("John Doe"));
         }
 
         @Test
@@ -424,7 +521,405 @@ public class CoursesControllerTests {
                                 .param("group", "Group A") // Optional filters
                                 .param("minAge", "18"))
                                 .andExpect(status().isOk())
-                                .andExpect(jsonPath("$.length()").value(1)) // Check that there is only one teacher
-                                .andExpect(jsonPath("$[0].name").value("John Doe"));
+                                .andExpect(jsonPath("$.items.length()").value(1)) // Check that there is only one teacher
+                                .andExpect(jsonPath("$.items[0].name").value("John Doe"));
+        }
+
+        @Test
+        void shouldReportAddedSkippedAndUnknownOnEnrollment() throws Exception {
+                Course course = new Course();
+                course.setName("Math 101");
+                course = coursesRepository.save(course);
+
+                Student student1 = new Student();
+                student1.setName("John Doe");
+                Student student2 = new Student();
+                student2.setName("Jane Doe");
+                studentsRepository.saveAll(List.of(student1, student2));
+
+                UUID unknownId = UUID.randomUUID();
+
+                mockMvc.perform(post(COURSES_URL + "/" + course.getId() + "/students")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(List.of(student1.getId()))))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.added").value(1));
+
+                // Enrolling again only adds the missing student
+                mockMvc.perform(post(COURSES_URL + "/" + course.getId() + "/students")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(
+                                                List.of(student1.getId(), student2.getId(), unknownId))))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.added").value(1))
+                                .andExpect(jsonPath("$.skipped").value(1))
+                                .andExpect(jsonPath("$.unknown").value(1));
+
+                mockMvc.perform(get(COURSES_URL + "/" + course.getId() + "/students"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.items.length()").value(2));
+        }
+
+        @Test
+        void shouldQueueAsynchronousEnrollmentsAndApplyThemPerCourse() throws Exception {
+                Course course = new Course();
+                course.setName("Math 101");
+                course = coursesRepository.save(course);
+
+                Student student1 = new Student();
+                student1.setName("John Doe");
+                Student student2 = new Student();
+                student2.setName("Jane Doe");
+                Student student3 = new Student();
+                student3.setName("Max Mustermann");
+                studentsRepository.saveAll(List.of(student1, student2, student3));
+
+                mockMvc.perform(post(COURSES_URL + "/" + course.getId() + "/students")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(List.of(student1.getId()))))
+                                .andExpect(status().isOk());
+
+                // overlapping requests are attributed as if they had run one after another
+                EnrollmentOperation first = enrollAsync(course.getId(), List.of(student1.getId(), student2.getId()));
+                EnrollmentOperation second = enrollAsync(course.getId(),
+                                List.of(student2.getId(), student3.getId(), UUID.randomUUID()));
+                EnrollmentOperation unknownCourse = enrollAsync(UUID.randomUUID(), List.of(student1.getId()));
+
+                enrollmentQueue.flush();
+
+                mockMvc.perform(get(COURSES_URL + "/enrollments/" + first.id()))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.status").value("APPLIED"))
+                                .andExpect(jsonPath("$.result.added").value(1))
+                                .andExpect(jsonPath("$.result.skipped").value(1))
+                                .andExpect(jsonPath("$.result.unknown").value(0));
+
+                mockMvc.perform(get(COURSES_URL + "/enrollments/" + second.id()))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.status").value("APPLIED"))
+                                .andExpect(jsonPath("$.result.added").value(1))
+                                .andExpect(jsonPath("$.result.skipped").value(1))
+                                .andExpect(jsonPath("$.result.unknown").value(1));
+
+                mockMvc.perform(get(COURSES_URL + "/enrollments/" + unknownCourse.id()))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.status").value("FAILED"))
+                                .andExpect(jsonPath("$.error").value(containsString("not found")));
+
+                mockMvc.perform(get(COURSES_URL + "/" + course.getId() + "/students/count"))
+                                .andExpect(status().isOk())
+                                .andExpect(content().string("3"));
+
+                mockMvc.perform(get(COURSES_URL + "/enrollments/" + UUID.randomUUID()))
+                                .andExpect(status().isNotFound());
+
+                // one request may not exceed the IDs of one transaction
+                List<UUID> tooMany = Stream.generate(UUID::randomUUID).limit(10_001).toList();
+                mockMvc.perform(post(COURSES_URL + "/" + course.getId() + "/students")
+                                .param("async", "true")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(tooMany)))
+                                .andExpect(status().isBadRequest());
+        }
+
+        private EnrollmentOperation enrollAsync(UUID courseId, List<UUID> studentIds) throws Exception {
+                String response = mockMvc.perform(post(COURSES_URL + "/" + courseId + "/students")
+                                .param("async", "true")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(studentIds)))
+                                .andExpect(status().isAccepted())
+                                .andExpect(header().string(HttpHeaders.LOCATION,
+                                                containsString(COURSES_URL + "/enrollments/")))
+                                .andExpect(jsonPath("$.status").value("QUEUED"))
+                                .andReturn().getResponse().getContentAsString();
+
+                return objectMapper.readValue(response, EnrollmentOperation.class);
+        }
+
+        @Test
+        void shouldNotEnrollInUnknownCourse() throws Exception {
+                mockMvc.perform(post(COURSES_URL + "/" + UUID.randomUUID() + "/teachers")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(List.of(UUID.randomUUID()))))
+                                .andExpect(status().isNotFound());
+        }
+
+        @Test
+        void shouldKeepCachedRostersInSyncWithEnrollment() throws Exception {
+                Course course = new Course();
+                course.setName("Math 101");
+                course = coursesRepository.save(course);
+
+                Student student1 = new Student();
+                student1.setName("John Doe");
+                Student student2 = new Student();
+                student2.setName("Jane Doe");
+                studentsRepository.saveAll(List.of(student1, student2));
+
+                String rosterUrl = COURSES_URL + "/" + course.getId() + "/students";
+
+                mockMvc.perform(post(rosterUrl)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(List.of(student1.getId()))))
+                                .andExpect(status().isOk());
+
+                // List the courses twice, so the second listing reads the embedded roster from the cache
+                long hits = rosterCacheHits();
+                for (int i = 0; i < 2; i++) {
+                        mockMvc.perform(get(COURSES_URL))
+                                        .andExpect(status().isOk())
+                                        .andExpect(jsonPath("$.items[0].students.length()").value(1));
+                }
+                assertThat(rosterCacheHits()).isGreaterThan(hits);
+
+                mockMvc.perform(post(rosterUrl)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(List.of(student2.getId()))))
+                                .andExpect(status().isOk());
+
+                mockMvc.perform(get(COURSES_URL))
+                                .andExpect(jsonPath("$.items[0].students.length()").value(2));
+
+                mockMvc.perform(delete(rosterUrl)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(List.of(student1.getId()))))
+                                .andExpect(status().isOk());
+
+                mockMvc.perform(get(COURSES_URL))
+                                .andExpect(jsonPath("$.items[0].students.length()").value(1));
+
+                mockMvc.perform(delete(STUDENTS_URL + "/" + student2.getId()))
+                                .andExpect(status().isOk());
+
+                mockMvc.perform(get(COURSES_URL))
+                                .andExpect(jsonPath("$.items[0].students.length()").value(0));
+        }
+
+        private long rosterCacheHits() throws Exception {
+                String response = mockMvc.perform(get(COURSES_URL + "/cache-statistics"))
+                                .andExpect(status().isOk())
+                                .andReturn().getResponse().getContentAsString();
+
+                return Arrays.stream(objectMapper.readValue(response, CacheStatistics[].class))
+                                .filter(region -> "com.school.management.models.Course.students".equals(region.getRegion()))
+                                .findFirst()
+                                .orElseThrow()
+                                .getHits();
+        }
+
+        @Test
+        void shouldExposeRequestServiceAndSqlMetrics() throws Exception {
+                Course course = new Course();
+                course.setName("Math 101");
+                course = coursesRepository.save(course);
+
+                mockMvc.perform(get(COURSES_URL + "/" + course.getId() + "/students"))
+                                .andExpect(status().isOk());
+
+                mockMvc.perform(get("/actuator/prometheus"))
+                                .andExpect(status().isOk())
+                                .andExpect(content().string(containsString(
+                                                "http_server_requests_seconds_bucket{error=\"none\",exception=\"none\",method=\"GET\",outcome=\"SUCCESS\",status=\"200\",uri=\"" + COURSES_URL + "/{id}/students\"")))
+                                .andExpect(content().string(containsString(
+                                                "school_sql_statements_count{method=\"GET\",uri=\"" + COURSES_URL + "/{id}/students\"}")))
+                                .andExpect(content().string(containsString(
+                                                "school_service_seconds_count{class=\"com.school.management.services.CoursesServiceImpl\"")))
+                                .andExpect(content().string(containsString("hibernate_statements_total")));
+        }
+
+        @Test
+        void shouldListCoursesWithoutCountInSliceMode() throws Exception {
+                for (String name : List.of("Math 101", "Physics 101", "Chemistry 101")) {
+                        Course course = new Course();
+                        course.setName(name);
+                        coursesRepository.save(course);
+                }
+
+                mockMvc.perform(get(COURSES_URL)
+                                .param("pageSize", "2")
+                                .param("pageNumber", "1")
+                                .param("total", "NONE"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.items.length()").value(1))
+                                .andExpect(jsonPath("$.total").doesNotExist())
+                                .andExpect(jsonPath("$.hasNext").value(false));
+        }
+
+        @Test
+        void shouldPageSortAndCountRoster() throws Exception {
+                Course course = new Course();
+                course.setName("Math 101");
+                course = coursesRepository.save(course);
+
+                for (int age = 18; age <= 22; age++) {
+                        Student student = new Student();
+                        student.setName("Student " + age);
+                        student.setAge(age);
+                        student.setGroup(age % 2 == 0 ? "Group A" : "Group B");
+                        student.setCourses(Set.of(course));
+                        studentsRepository.save(student);
+                }
+
+                String rosterUrl = COURSES_URL + "/" + course.getId() + "/students";
+
+                mockMvc.perform(get(rosterUrl)
+                                .param("pageSize", "2")
+                                .param("sort", "age,desc"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.items[0].age").value(22))
+                                .andExpect(jsonPath("$.items[1].age").value(21))
+                                .andExpect(jsonPath("$.total").value(5))
+                                .andExpect(jsonPath("$.hasNext").value(true));
+
+                mockMvc.perform(get(rosterUrl)
+                                .param("pageSize", "2")
+                                .param("pageNumber", "2")
+                                .param("sort", "age,desc")
+                                .param("total", "NONE"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.items.length()").value(1))
+                                .andExpect(jsonPath("$.items[0].age").value(18))
+                                .andExpect(jsonPath("$.total").doesNotExist())
+                                .andExpect(jsonPath("$.hasNext").value(false));
+
+                mockMvc.perform(get(rosterUrl + "/count")
+                                .param("group", "Group A")
+                                .param("minAge", "18"))
+                                .andExpect(status().isOk())
+                                .andExpect(content().string("2"));
+
+                mockMvc.perform(get(rosterUrl).param("sort", "courses"))
+                                .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        void shouldAnswerSetAlgebraQueriesFromMembershipIndex() throws Exception {
+                Course a = new Course();
+                a.setName("A");
+                Course b = new Course();
+                b.setName("B");
+                Course c = new Course();
+                c.setName("C");
+                coursesRepository.saveAll(List.of(a, b, c));
+
+                Student ab = student("AB", "10b", a, b);
+                Student abc = student("ABC", "10a", a, b, c);
+                Student onlyA = student("A", "10b", a);
+                student("B", "10b", b);
+                rosterIndex.refresh();
+
+                String matchUrl = COURSES_URL + "/students/match";
+
+                mockMvc.perform(get(matchUrl)
+                                .param("allOf", a.getId().toString(), b.getId().toString())
+                                .param("noneOf", c.getId().toString()))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.items.length()").value(1))
+                                .andExpect(jsonPath("$.items[0]").value(ab.getId().toString()))
+                                .andExpect(jsonPath("$.total").value(1));
+
+                mockMvc.perform(get(matchUrl + "/count")
+                                .param("anyOf", a.getId().toString(), c.getId().toString())
+                                .param("group", "10b"))
+                                .andExpect(status().isOk())
+                                .andExpect(content().string("2"));
+
+                // enrollment, deletion and deregistration update the index without a rebuild
+                mockMvc.perform(post(COURSES_URL + "/" + b.getId() + "/students")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(List.of(onlyA.getId()))))
+                                .andExpect(status().isOk());
+
+                mockMvc.perform(delete(STUDENTS_URL)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(List.of(ab.getId()))))
+                                .andExpect(status().isOk());
+
+                mockMvc.perform(get(matchUrl)
+                                .param("allOf", a.getId().toString(), b.getId().toString())
+                                .param("noneOf", c.getId().toString()))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.items[0]").value(onlyA.getId().toString()))
+                                .andExpect(jsonPath("$.total").value(1));
+
+                mockMvc.perform(delete(COURSES_URL + "/" + a.getId() + "/students")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(List.of(abc.getId()))))
+                                .andExpect(status().isOk());
+
+                mockMvc.perform(get(matchUrl + "/count")
+                                .param("allOf", a.getId().toString()))
+                                .andExpect(status().isOk())
+                                .andExpect(content().string("1"));
+        }
+
+        @Test
+        void shouldAnswerUnchangedRosterWithNotModified() throws Exception {
+                Course math = new Course();
+                math.setName("Math 101");
+                Course art = new Course();
+                art.setName("Art 101");
+                coursesRepository.saveAll(List.of(math, art));
+
+                Student alice = student("Alice", "10a", math);
+                Student bob = student("Bob", "10a");
+
+                String rosterUrl = COURSES_URL + "/" + math.getId() + "/students";
+
+                String etag = mockMvc.perform(get(rosterUrl))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.items[0].id").value(alice.getId().toString()))
+                                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+                assertThat(etag).isNotNull();
+
+                mockMvc.perform(get(rosterUrl).header(HttpHeaders.IF_NONE_MATCH, etag))
+                                .andExpect(status().isNotModified());
+                assertThat(SqlStatementCounter.count()).isZero();
+
+                // enrolling in another course leaves this roster's tag alone
+                mockMvc.perform(post(COURSES_URL + "/" + art.getId() + "/students")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(List.of(bob.getId()))))
+                                .andExpect(status().isOk());
+
+                mockMvc.perform(get(rosterUrl).header(HttpHeaders.IF_NONE_MATCH, etag))
+                                .andExpect(status().isNotModified());
+
+                mockMvc.perform(post(rosterUrl)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(List.of(bob.getId()))))
+                                .andExpect(status().isOk());
+
+                mockMvc.perform(get(rosterUrl).header(HttpHeaders.IF_NONE_MATCH, etag))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.total").value(2));
+        }
+
+        @Test
+        void shouldNotAnswerRosterOfDeletedCourseWithNotModified() throws Exception {
+                Course course = new Course();
+                course.setName("Cancelled 101");
+                coursesRepository.save(course);
+
+                String rosterUrl = COURSES_URL + "/" + course.getId() + "/students";
+
+                String etag = mockMvc.perform(get(rosterUrl))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.items").isEmpty())
+                                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+                mockMvc.perform(delete(COURSES_URL + "/" + course.getId()))
+                                .andExpect(status().isOk());
+
+                mockMvc.perform(get(rosterUrl).header(HttpHeaders.IF_NONE_MATCH, etag))
+                                .andExpect(status().isNotFound());
+        }
+
+        private Student student(String name, String group, Course... courses) {
+                Student student = new Student();
+                student.setName(name);
+                student.setGroup(group);
+                student.setCourses(Set.of(courses));
+                return studentsRepository.save(student);
         }
 }
@@ -0,0 +1,152 @@
+package com.school.tracking;
+
+import static com.school.management.constants.ApiConstants.STUDENTS_URL;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.flywaydb.core.Flyway;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.NestedTestConfiguration;
+import org.springframework.test.context.NestedTestConfiguration.EnclosingConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.school.management.dto.StudentDTO;
+import com.school.management.dto.TotalMode;
+import com.school.management.models.Course;
+import com.school.management.models.Student;
+import com.school.management.repositories.StudentsRepository;
+import com.school.management.services.CoursesService;
+import com.school.management.services.StudentsService;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Runs against two in-memory H2 databases, a primary and a replica that is not
+ * replicated to, so every read shows which of them served it.
+ */
+@SpringBootTest(classes = com.school.management.TrackingApplication.class, properties = {
+        "school.datasource.replica.url=jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1",
+        "school.datasource.replica.username=sa" })
+@AutoConfigureMockMvc
+class ReplicaRoutingTests {
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replica;
+
+    @Autowired
+    private StudentsService studentsService;
+
+    @Autowired
+    private StudentsRepository studentsRepository;
+
+    @Autowired
+    private CoursesService coursesService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void shouldReadListingsFromReplicaAndEverythingElseFromPrimary() throws Exception {
+        Flyway.configure().dataSource(replica).load().migrate();
+        JdbcTemplate replicaJdbc = new JdbcTemplate(replica);
+        replicaJdbc.update("DELETE FROM student_course");
+        replicaJdbc.update("DELETE FROM students");
+        studentsRepository.deleteAll();
+
+        Student written = new Student();
+        written.setName("Written To Primary");
+        studentsService.add(written);
+
+        UUID copiedId = UUID.randomUUID();
+        replicaJdbc.update("INSERT INTO students (id, name) VALUES (?, ?)", copiedId, "Copied To Replica");
+
+        // listings see the replica, writes and statements outside a transaction the primary
+        assertThat(studentsService.getAll(null, null, 10, 0, TotalMode.EXACT).getItems())
+                .extracting(StudentDTO::getName)
+                .containsExactly("Copied To Replica");
+        assertThat(jdbcTemplate.queryForList("SELECT name FROM students", String.class))
+                .containsExactly("Written To Primary");
+
+        // other read-only transactions, such as Spring Data's, read the primary
+        assertThat(studentsRepository.findById(copiedId)).isEmpty();
+        assertThat(studentsRepository.findById(written.getId())).isPresent();
+
+        // entities loaded read-only are not snapshotted for dirty checking
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readOnly.executeWithoutResult(status -> {
+            Student primary = entityManager.find(Student.class, written.getId());
+            assertThat(entityManager.unwrap(Session.class).isReadOnly(primary)).isTrue();
+        });
+
+        // nothing the replica returns is put into the second-level cache
+        UUID replicaCourseId = UUID.randomUUID();
+        replicaJdbc.update("INSERT INTO courses (id, name) VALUES (?, ?)", replicaCourseId, "Replica 101");
+        assertThat(coursesService.getAll(null, null, 10, 0, TotalMode.NONE).getItems())
+                .extracting(Course::getId)
+                .contains(replicaCourseId);
+        assertThat(entityManagerFactory.getCache().contains(Course.class, replicaCourseId)).isFalse();
+
+        // the tags follow the primary, so with a replica there are none
+        mockMvc.perform(get(STUDENTS_URL))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+    }
+
+    @Nested
+    @NestedTestConfiguration(EnclosingConfiguration.OVERRIDE)
+    @SpringBootTest(classes = com.school.management.TrackingApplication.class, properties = {
+            "school.datasource.replica.url=jdbc:h2:mem:missing-replica;IFEXISTS=TRUE",
+            "school.datasource.replica.username=sa" })
+    class WhenReplicaIsDown {
+
+        @Autowired
+        private StudentsService studentsService;
+
+        @Autowired
+        private StudentsRepository studentsRepository;
+
+        @Test
+        void shouldFallBackToPrimary() {
+            studentsRepository.deleteAll();
+
+            Student written = new Student();
+            written.setName("Written To Primary");
+            studentsService.add(written);
+
+            assertThat(studentsService.getAll(null, null, 10, 0, TotalMode.EXACT).getItems())
+                    .extracting(StudentDTO::getName)
+                    .containsExactly("Written To Primary");
+        }
+    }
+}
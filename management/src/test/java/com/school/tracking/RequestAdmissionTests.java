@@ -0,0 +1,89 @@
+package com.school.tracking;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.school.management.config.RequestAdmissionFilter;
+
+import jakarta.servlet.FilterChain;
+
+/**
+ * Holds every admission permit with requests that block in the filter chain and
+ * checks that the next request is turned away with 503 and {@code Retry-After}.
+ * The pool has two connections and each may serve one request, so two permits.
+ */
+@SpringBootTest(classes = com.school.management.TrackingApplication.class, properties = {
+        "spring.threads.virtual.enabled=true",
+        "spring.datasource.hikari.maximum-pool-size=2",
+        "school.virtual-threads.requests-per-connection=1",
+        "school.virtual-threads.admission-timeout=100ms" })
+class RequestAdmissionTests {
+
+    private static final int PERMITS = 2;
+
+    @Autowired
+    private RequestAdmissionFilter filter;
+
+    @Test
+    void shouldRejectRequestsOnceAllPermitsAreTaken() throws Exception {
+        CountDownLatch admitted = new CountDownLatch(PERMITS);
+        CountDownLatch release = new CountDownLatch(1);
+        FilterChain blocking = (request, response) -> {
+            admitted.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(PERMITS);
+        try {
+            List<Future<MockHttpServletResponse>> held = new ArrayList<>();
+            for (int i = 0; i < PERMITS; i++) {
+                held.add(executor.submit(() -> perform("/students", blocking)));
+            }
+            assertThat(admitted.await(10, TimeUnit.SECONDS)).isTrue();
+
+            MockHttpServletResponse rejected = perform("/students", (request, response) -> { });
+            assertThat(rejected.getStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE.value());
+            assertThat(rejected.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+            assertThat(rejected.getContentAsString()).contains("Server is busy");
+
+            // actuator endpoints are never held back
+            assertThat(perform("/actuator/health", (request, response) -> { }).getStatus())
+                    .isEqualTo(HttpStatus.OK.value());
+
+            release.countDown();
+            for (Future<MockHttpServletResponse> response : held) {
+                assertThat(response.get(10, TimeUnit.SECONDS).getStatus()).isEqualTo(HttpStatus.OK.value());
+            }
+            assertThat(perform("/students", (request, response) -> { }).getStatus())
+                    .isEqualTo(HttpStatus.OK.value());
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    private MockHttpServletResponse perform(String uri, FilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", uri), response, chain);
+        return response;
+    }
+}
@@ -0,0 +1,106 @@
+package com.school.tracking;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.school.management.config.SqlStatementCounter;
+import com.school.management.dto.MemberFilter;
+import com.school.management.repositories.StudentsRepository;
+import com.school.management.repositories.TeachersRepository;
+import com.school.management.services.CoursesService;
+
+/**
+ * Captures the statements Hibernate generates for the course rosters, the listing
+ * filters and the member-side course lookups and checks that H2 answers them
+ * through an index rather than a table scan. Which index it picks when several
+ * apply is left to the planner.
+ */
+@SpringBootTest(classes = com.school.management.TrackingApplication.class)
+public class RosterQueryPlanTests {
+
+    @Autowired
+    private CoursesService coursesService;
+
+    @Autowired
+    private StudentsRepository studentsRepository;
+
+    @Autowired
+    private TeachersRepository teachersRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldReadRostersThroughIndexes() {
+        UUID courseId = UUID.randomUUID();
+
+        assertIndexed(SqlStatementCounter.capture(() -> coursesService.countStudents(courseId, null, null)),
+                courseId);
+        assertIndexed(SqlStatementCounter.capture(() -> coursesService.countTeachers(courseId, null, null)),
+                courseId);
+    }
+
+    @Test
+    void shouldReadCourseMembersFromJoinTableAlone() {
+        UUID courseId = UUID.randomUUID();
+
+        List<String> roster = SqlStatementCounter.capture(() -> coursesService.countStudents(courseId, null, null));
+        List<String> listing = SqlStatementCounter.capture(() -> studentsRepository.countMatching(
+                new MemberFilter(null, null, null, null, courseId, null)));
+        assertIndexed(listing, courseId);
+
+        // the members table is read once, by the outer query
+        assertThat(roster.get(0)).containsOnlyOnce("from students");
+        assertThat(listing.get(0)).containsOnlyOnce("from students");
+        assertThat(SqlStatementCounter.capture(() -> teachersRepository.countMatching(
+                new MemberFilter(null, null, null, null, courseId, null))).get(0)).containsOnlyOnce("from teachers");
+    }
+
+    @Test
+    void shouldFilterRostersByGroupAndAgeThroughIndexes() {
+        UUID courseId = UUID.randomUUID();
+
+        assertIndexed(SqlStatementCounter.capture(() -> coursesService.countStudents(courseId, "A", 20)),
+                courseId, "A", 20);
+        assertIndexed(SqlStatementCounter.capture(() -> coursesService.countTeachers(courseId, "A", 40)),
+                courseId, "A", 40);
+    }
+
+    @Test
+    void shouldFilterListingsByGroupOrAgeAloneThroughIndexes() {
+        assertIndexed(SqlStatementCounter.capture(() -> studentsRepository.countMatching(
+                new MemberFilter(null, "A", null, null, null, null))), "A");
+        assertIndexed(SqlStatementCounter.capture(() -> studentsRepository.countMatching(
+                new MemberFilter(null, null, 20, null, null, null))), 20);
+        assertIndexed(SqlStatementCounter.capture(() -> teachersRepository.countMatching(
+                new MemberFilter(null, "A", null, null, null, null))), "A");
+        assertIndexed(SqlStatementCounter.capture(() -> teachersRepository.countMatching(
+                new MemberFilter(null, null, 40, null, null, null))), 40);
+    }
+
+    @Test
+    void shouldReadCoursesOfMembersThroughIndexes() {
+        UUID memberId = UUID.randomUUID();
+
+        assertIndexed(SqlStatementCounter.capture(() -> studentsRepository.findMemberships(List.of(memberId))),
+                memberId);
+        assertIndexed(SqlStatementCounter.capture(() -> teachersRepository.findCourseIds(memberId)), memberId);
+    }
+
+    /**
+     * Explains the single captured statement with the given parameters, in the order
+     * Hibernate binds them, and checks that no table is scanned.
+     */
+    private void assertIndexed(List<String> statements, Object... parameters) {
+        assertThat(statements).hasSize(1);
+        String plan = jdbcTemplate.queryForObject("explain " + statements.get(0), String.class, parameters);
+        assertThat(plan).as(plan).doesNotContainIgnoringCase("tableScan");
+    }
+}
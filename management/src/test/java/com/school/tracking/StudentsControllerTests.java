@@ -1,29 +1,63 @@
 package com.school.tracking;
 
+import static com.school.management.constants.ApiConstants.APPLICATION_SMILE_VALUE;
+import static com.school.management.constants.ApiConstants.COURSES_URL;
 import static com.school.management.constants.ApiConstants.STUDENTS_URL;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Example;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.school.management.config.SqlStatementCounter;
+import com.school.management.dto.PageResult;
+import com.school.management.dto.StudentDTO;
+import com.school.management.models.Course;
 import com.school.management.models.Student;
+import com.school.management.repositories.CoursesRepository;
 import com.school.management.repositories.StudentsRepository;
+import com.school.management.services.ApproximateTotals;
+import com.school.management.services.NameIndex;
+import com.school.management.services.StudentStatistics;
+
+import jakarta.persistence.EntityManagerFactory;
 
 @SpringBootTest(classes = com.school.management.TrackingApplication.class)
 @AutoConfigureMockMvc
 public class StudentsControllerTests {
 
+    private static final TypeReference<PageResult<StudentDTO>> STUDENT_PAGE = new TypeReference<>() {
+    };
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -33,6 +67,21 @@ public class StudentsControllerTests {
     @Autowired
     private StudentsRepository studentRepository;
 
+    @Autowired
+    private CoursesRepository coursesRepository;
+
+    @Autowired
+    private ApproximateTotals approximateTotals;
+
+    @Autowired
+    private StudentStatistics studentStatistics;
+
+    @Autowired
+    private NameIndex nameIndex;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     @BeforeEach
     void setUp() {
         studentRepository.deleteAll();
@@ -112,6 +161,37 @@ public class StudentsControllerTests {
                 .andExpect(jsonPath("$.name").value("Updated"));
     }
 
+    @Test
+    void shouldRejectUpdateOfStaleVersion() throws Exception {
+        Student student = new Student();
+        student.setName("John Doe");
+
+        String response = mockMvc.perform(post(STUDENTS_URL)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(student)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        Student created = objectMapper.readValue(response, Student.class);
+        created.setName("First");
+
+        mockMvc.perform(put(STUDENTS_URL)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(created)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(created.getVersion() + 1));
+
+        created.setName("Second");
+
+        mockMvc.perform(put(STUDENTS_URL)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(created)))
+                .andExpect(status().isConflict());
+
+        assertThat(studentRepository.findById(created.getId())).get()
+                .extracting(Student::getName).isEqualTo("First");
+    }
+
     @Test
     void shouldDeleteStudent() throws Exception {
         Student student = new Student();
@@ -136,4 +216,539 @@ public class StudentsControllerTests {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.items").isEmpty());
     }
+
+    @Test
+    void shouldDeleteStudentsInBatch() throws Exception {
+        Course math = new Course();
+        math.setName("Math 101");
+        coursesRepository.save(math);
+
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Student student = new Student();
+            student.setName("Graduate " + i);
+            student.setCourses(Set.of(math));
+            ids.add(studentRepository.save(student).getId());
+        }
+        Student staying = new Student();
+        staying.setName("Staying");
+        staying.setCourses(Set.of(math));
+        studentRepository.save(staying);
+
+        UUID unknown = UUID.randomUUID();
+        List<UUID> requested = new ArrayList<>(ids);
+        requested.add(unknown);
+
+        mockMvc.perform(delete(STUDENTS_URL)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(requested)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted").value(20))
+                .andExpect(jsonPath("$.outcomes['" + ids.get(0) + "']").value("DELETED"))
+                .andExpect(jsonPath("$.outcomes['" + unknown + "']").value("NOT_FOUND"));
+
+        // existence check, membership delete and row delete, independent of the batch size
+        assertThat(SqlStatementCounter.count()).isEqualTo(3L);
+        assertThat(studentRepository.findAll()).extracting(Student::getName).containsExactly("Staying");
+        assertThat(studentRepository.findExistingIds(ids)).isEmpty();
+    }
+
+    @Test
+    void shouldScrollStudentsWithCursor() throws Exception {
+        for (String name : List.of("Carol", "Alice", "Bob")) {
+            Student student = new Student();
+            student.setName(name);
+            mockMvc.perform(post(STUDENTS_URL)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(student)))
+                    .andExpect(status().isOk());
+        }
+
+        // First page is ordered by name and carries a cursor to the next one
+        String response = mockMvc.perform(get(STUDENTS_URL + "/scroll")
+                .param("pageSize", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[0].name").value("Alice"))
+                .andExpect(jsonPath("$.items[1].name").value("Bob"))
+                .andExpect(jsonPath("$.total").value(3))
+                .andReturn().getResponse().getContentAsString();
+
+        String cursor = objectMapper.readTree(response).get("nextCursor").asText();
+
+        // Last page has no further cursor
+        mockMvc.perform(get(STUDENTS_URL + "/scroll")
+                .param("pageSize", "2")
+                .param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].name").value("Carol"))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void shouldRejectMalformedCursor() throws Exception {
+        mockMvc.perform(get(STUDENTS_URL + "/scroll")
+                .param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldLoadCoursesOfPageWithoutPerStudentQueries() throws Exception {
+        Course math = new Course();
+        math.setName("Math 101");
+        Course physics = new Course();
+        physics.setName("Physics 101");
+        coursesRepository.saveAll(List.of(math, physics));
+
+        for (int i = 0; i < 20; i++) {
+            Student student = new Student();
+            student.setName("Student " + i);
+            student.setCourses(Set.of(math, physics));
+            studentRepository.save(student);
+        }
+
+        mockMvc.perform(get(STUDENTS_URL)
+                .param("pageSize", "20")
+                .param("pageNumber", "0"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(20))
+                .andExpect(jsonPath("$.items[0].courses.length()").value(2));
+
+        // page + count + one batched course fetch, independent of the page size
+        assertThat(SqlStatementCounter.count()).isBetween(1L, 3L);
+    }
+
+    @Test
+    void shouldAssignTimeOrderedIds() throws Exception {
+        List<UUID> ids = new ArrayList<>();
+        for (String name : List.of("Alice", "Bob", "Carol")) {
+            Student student = new Student();
+            student.setName(name);
+            String response = mockMvc.perform(post(STUDENTS_URL)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(student)))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            ids.add(objectMapper.readValue(response, Student.class).getId());
+        }
+
+        assertThat(ids).allSatisfy(id -> {
+            assertThat(id.version()).isEqualTo(7);
+            assertThat(id.variant()).isEqualTo(2);
+        });
+        // later inserts sort after earlier ones, so they append to the primary-key index
+        assertThat(ids).isSortedAccordingTo(Comparator.comparing(UUID::toString));
+    }
+
+    @Test
+    void shouldListStudentsWithoutCountInSliceMode() throws Exception {
+        for (String name : List.of("Alice", "Bob", "Carol")) {
+            Student student = new Student();
+            student.setName(name);
+            studentRepository.save(student);
+        }
+
+        mockMvc.perform(get(STUDENTS_URL)
+                .param("pageSize", "2")
+                .param("pageNumber", "0")
+                .param("total", "NONE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.total").doesNotExist())
+                .andExpect(jsonPath("$.hasNext").value(true));
+
+        // one page query reading a row ahead, one batched course fetch and no count
+        assertThat(SqlStatementCounter.count()).isEqualTo(2L);
+
+        mockMvc.perform(get(STUDENTS_URL)
+                .param("pageSize", "2")
+                .param("pageNumber", "1")
+                .param("total", "NONE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.hasNext").value(false));
+    }
+
+    @Test
+    void shouldKeepApproximateTotalInStepWithAddAndDelete() throws Exception {
+        approximateTotals.refresh();
+        mockMvc.perform(get(STUDENTS_URL).param("total", "APPROXIMATE"))
+                .andExpect(jsonPath("$.total").value(0));
+
+        String response = null;
+        for (String name : List.of("Alice", "Bob", "Carol")) {
+            Student student = new Student();
+            student.setName(name);
+            response = mockMvc.perform(post(STUDENTS_URL)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(student)))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+        }
+
+        mockMvc.perform(get(STUDENTS_URL).param("total", "APPROXIMATE"))
+                .andExpect(jsonPath("$.total").value(3));
+
+        Student last = objectMapper.readValue(response, Student.class);
+        mockMvc.perform(delete(STUDENTS_URL + "/" + last.getId()))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get(STUDENTS_URL).param("total", "APPROXIMATE"))
+                .andExpect(jsonPath("$.total").value(2))
+                .andExpect(jsonPath("$.hasNext").value(false));
+    }
+
+    @Test
+    void shouldKeepEnrollmentStatisticsInStepWithWrites() throws Exception {
+        studentStatistics.reconcile();
+        mockMvc.perform(get(STUDENTS_URL + "/statistics"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.students").value(0));
+
+        Course math = new Course();
+        math.setName("Math 101");
+        coursesRepository.save(math);
+
+        List<Student> created = new ArrayList<>();
+        for (Object[] row : new Object[][] { { "Alice", 20, "10a" }, { "Bob", 21, "10a" }, { "Carol", 20, "10b" } }) {
+            Student student = new Student();
+            student.setName((String) row[0]);
+            student.setAge((Integer) row[1]);
+            student.setGroup((String) row[2]);
+            String response = mockMvc.perform(post(STUDENTS_URL)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(student)))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            created.add(objectMapper.readValue(response, Student.class));
+        }
+        Student alice = created.get(0);
+        Student bob = created.get(1);
+        Student carol = created.get(2);
+
+        mockMvc.perform(post(COURSES_URL + "/" + math.getId() + "/students")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(alice.getId(), bob.getId()))))
+                .andExpect(status().isOk());
+
+        carol.setGroup("10a");
+        carol.setAge(22);
+        mockMvc.perform(put(STUDENTS_URL)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(carol)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(delete(STUDENTS_URL + "/" + bob.getId()))
+                .andExpect(status().isOk());
+
+        for (int pass = 0; pass < 2; pass++) {
+            // incremental counters first, then the same numbers after a full recount
+            mockMvc.perform(get(STUDENTS_URL + "/statistics"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.students").value(2))
+                    .andExpect(jsonPath("$.studentsPerCourse['" + math.getId() + "']").value(1))
+                    .andExpect(jsonPath("$.studentsPerGroup.10a").value(2))
+                    .andExpect(jsonPath("$.studentsPerGroup.10b").doesNotExist())
+                    .andExpect(jsonPath("$.studentsPerAge.20").value(1))
+                    .andExpect(jsonPath("$.studentsPerAge.22").value(1));
+
+            assertThat(SqlStatementCounter.count()).isZero();
+            studentStatistics.reconcile();
+        }
+    }
+
+    @Test
+    void shouldFilterAndSortStudentsWithQueryParameters() throws Exception {
+        Course math = new Course();
+        math.setName("Math 101");
+        coursesRepository.save(math);
+
+        for (Object[] row : new Object[][] { { "Alice", 20, "10a", true }, { "Bob", 23, "10a", true },
+                { "Carol", 22, "10a", false }, { "Dave", 25, "10b", true } }) {
+            Student student = new Student();
+            student.setName((String) row[0]);
+            student.setAge((Integer) row[1]);
+            student.setGroup((String) row[2]);
+            if ((Boolean) row[3]) {
+                student.setCourses(Set.of(math));
+            }
+            studentRepository.save(student);
+        }
+
+        mockMvc.perform(get(STUDENTS_URL).param("group", "10a").param("minAge", "21").param("sort", "age,desc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(2))
+                .andExpect(jsonPath("$.items[0].name").value("Bob"))
+                .andExpect(jsonPath("$.items[1].name").value("Carol"));
+
+        // another filter of the same shape reuses the query plan Hibernate cached for it
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long hits = statistics.getQueryPlanCacheHitCount();
+        mockMvc.perform(get(STUDENTS_URL).param("group", "10b").param("minAge", "18").param("sort", "age,desc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(1))
+                .andExpect(jsonPath("$.items[0].name").value("Dave"));
+        assertThat(statistics.getQueryPlanCacheHitCount()).isGreaterThan(hits);
+
+        mockMvc.perform(get(STUDENTS_URL).param("courseId", math.getId().toString()).param("maxAge", "23")
+                .param("sort", "name"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(2))
+                .andExpect(jsonPath("$.items[0].name").value("Alice"))
+                .andExpect(jsonPath("$.items[1].name").value("Bob"));
+
+        mockMvc.perform(get(STUDENTS_URL).param("sort", "courses"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get(STUDENTS_URL).param("group", "10a")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"group\": \"10b\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldSearchStudentsByNameFromIndex() throws Exception {
+        nameIndex.invalidate(Student.class);
+
+        List<Student> created = new ArrayList<>();
+        for (Object[] row : new Object[][] { { "Ivan Petrov", 20, "10a" }, { "Ivana Petrova", 21, "10b" },
+                { "Peter Ivanov", 22, "10a" }, { "Olga Smirnova", 20, "10a" } }) {
+            Student student = new Student();
+            student.setName((String) row[0]);
+            student.setAge((Integer) row[1]);
+            student.setGroup((String) row[2]);
+            String response = mockMvc.perform(post(STUDENTS_URL)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(student)))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            created.add(objectMapper.readValue(response, Student.class));
+        }
+
+        // word prefixes in any order, the closest name first
+        mockMvc.perform(get(STUDENTS_URL + "/search").param("q", "ivan pet"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Ivan Petrov"))
+                .andExpect(jsonPath("$.length()").value(3));
+
+        // a typo still finds the name through shared trigrams
+        mockMvc.perform(get(STUDENTS_URL + "/search").param("q", "petrv"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Ivan Petrov"));
+
+        mockMvc.perform(get(STUDENTS_URL + "/search").param("q", "ivan").param("group", "10a")
+                .param("minAge", "21"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].name").value("Peter Ivanov"));
+        assertThat(SqlStatementCounter.count()).isZero();
+
+        Student ivan = created.get(0);
+        ivan.setName("Ivan Sidorov");
+        mockMvc.perform(put(STUDENTS_URL)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(ivan)))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete(STUDENTS_URL + "/" + created.get(1).getId()))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get(STUDENTS_URL + "/search").param("q", "sidorov"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(ivan.getId().toString()));
+        mockMvc.perform(get(STUDENTS_URL + "/search").param("q", "ivan pet"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Peter Ivanov"));
+        assertThat(SqlStatementCounter.count()).isZero();
+
+        mockMvc.perform(get(STUDENTS_URL + "/search").param("q", " "))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldAnswerUnchangedListingWithNotModified() throws Exception {
+        Student student = new Student();
+        student.setName("John Doe");
+
+        String response = mockMvc.perform(post(STUDENTS_URL)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(student)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        String etag = mockMvc.perform(get(STUDENTS_URL))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isNotNull();
+
+        mockMvc.perform(get(STUDENTS_URL).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        assertThat(SqlStatementCounter.count()).isZero();
+
+        // another page of the same collection has a tag of its own
+        mockMvc.perform(get(STUDENTS_URL).param("pageSize", "1").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+
+        Student created = objectMapper.readValue(response, Student.class);
+        created.setName("Updated");
+        mockMvc.perform(put(STUDENTS_URL)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(created)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get(STUDENTS_URL).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(etag)))
+                .andExpect(jsonPath("$.items[0].name").value("Updated"));
+    }
+
+    @Test
+    void shouldExportStudentsAsNdjson() throws Exception {
+        for (String name : List.of("Alice", "Bob", "Carol")) {
+            Student student = new Student();
+            student.setName(name);
+            mockMvc.perform(post(STUDENTS_URL)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(student)))
+                    .andExpect(status().isOk());
+        }
+
+        String body = mockMvc.perform(get(STUDENTS_URL + "/export"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        List<String> names = body.lines()
+                .map(line -> {
+                    try {
+                        return objectMapper.readValue(line, Student.class).getName();
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                })
+                .sorted()
+                .toList();
+        assertThat(names).containsExactly("Alice", "Bob", "Carol");
+    }
+
+    @Test
+    void shouldNegotiateBinaryFormats() throws Exception {
+        ObjectMapper cbor = new ObjectMapper(new CBORFactory());
+        ObjectMapper smile = new ObjectMapper(new SmileFactory());
+
+        Student student = new Student();
+        student.setName("Alice");
+        student.setAge(20);
+        mockMvc.perform(post(STUDENTS_URL)
+                .contentType(MediaType.APPLICATION_CBOR)
+                .accept(MediaType.APPLICATION_CBOR)
+                .content(cbor.writeValueAsBytes(student)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR));
+
+        byte[] json = mockMvc.perform(get(STUDENTS_URL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        for (ObjectMapper binary : List.of(cbor, smile)) {
+            String format = binary == cbor ? MediaType.APPLICATION_CBOR_VALUE : APPLICATION_SMILE_VALUE;
+            byte[] body = mockMvc.perform(get(STUDENTS_URL).accept(format))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith(format))
+                    .andExpect(header().string(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT)))
+                    .andReturn().getResponse().getContentAsByteArray();
+
+            // UUIDs travel as 16-byte binary values, so compare the decoded pages
+            assertThat(binary.readValue(body, STUDENT_PAGE))
+                    .usingRecursiveComparison()
+                    .isEqualTo(objectMapper.readValue(json, STUDENT_PAGE));
+        }
+    }
+
+    @Test
+    void shouldExportStudentsAsSmile() throws Exception {
+        for (String name : List.of("Alice", "Bob")) {
+            Student student = new Student();
+            student.setName(name);
+            mockMvc.perform(post(STUDENTS_URL)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(student)))
+                    .andExpect(status().isOk());
+        }
+
+        byte[] body = mockMvc.perform(get(STUDENTS_URL + "/export").accept(APPLICATION_SMILE_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(APPLICATION_SMILE_VALUE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        List<String> names = new ArrayList<>();
+        try (MappingIterator<Student> students = new ObjectMapper(new SmileFactory())
+                .readerFor(Student.class).readValues(body)) {
+            students.forEachRemaining(student -> names.add(student.getName()));
+        }
+        assertThat(names).containsExactlyInAnyOrder("Alice", "Bob");
+    }
+
+    @Test
+    void shouldImportNdjsonAndReportBadRows() throws Exception {
+        String body = """
+                {"name": "Alice", "age": 20, "group": "10a"}
+                {"name": "Bob", "age": "twenty"}
+                {"name": "Carol", "group": "10b"}
+                """;
+
+        mockMvc.perform(post(STUDENTS_URL + "/import")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(2));
+
+        assertThat(studentRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldImportCsv() throws Exception {
+        String body = """
+                name,age,group
+                "Doe, John",21,10a
+                Jane,not-a-number,10b
+                Ivan,19,
+                """;
+
+        mockMvc.perform(post(STUDENTS_URL + "/import")
+                .contentType("text/csv")
+                .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(3));
+
+        Student probe = new Student();
+        probe.setName("Doe, John");
+        assertThat(studentRepository.findAll(Example.of(probe)))
+                .singleElement()
+                .satisfies(student -> assertThat(student.getAge()).isEqualTo(21));
+    }
+
+    @Test
+    void shouldRejectCsvWithoutNameColumnOrWithUnknownColumns() throws Exception {
+        mockMvc.perform(post(STUDENTS_URL + "/import")
+                .contentType("text/csv")
+                .content("full_name,age\nJohn Doe,21\n"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error.message").value(containsString("name column")));
+
+        mockMvc.perform(post(STUDENTS_URL + "/import")
+                .contentType("text/csv")
+                .content("id,name,grup\n1,John Doe,10a\n"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error.message").value(containsString("grup")));
+
+        assertThat(studentRepository.count()).isZero();
+    }
 }
@@ -1,13 +1,20 @@
 package com.school.tracking;
 
 import static com.school.management.constants.ApiConstants.TEACHERS_URL;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -17,7 +24,9 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.school.management.models.Course;
 import com.school.management.models.Teacher;
+import com.school.management.repositories.CoursesRepository;
 import com.school.management.repositories.TeachersRepository;
 
 @SpringBootTest(classes = com.school.management.TrackingApplication.class)
@@ -33,6 +42,9 @@ public class TeachersControllerTests {
     @Autowired
     private TeachersRepository teacherRepository;
 
+    @Autowired
+    private CoursesRepository coursesRepository;
+
     @BeforeEach
     void setUp() {
         teacherRepository.deleteAll();
@@ -112,6 +124,41 @@ public class TeachersControllerTests {
                 .andExpect(jsonPath("$.name").value("Updated"));
     }
 
+    @Test
+    void shouldDeleteTeachersInBatch() throws Exception {
+        Course math = new Course();
+        math.setName("Math 101");
+        coursesRepository.save(math);
+
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Teacher teacher = new Teacher();
+            teacher.setName("Retiree " + i);
+            teacher.setCourses(Set.of(math));
+            ids.add(teacherRepository.save(teacher).getId());
+        }
+        Teacher staying = new Teacher();
+        staying.setName("Staying");
+        staying.setCourses(Set.of(math));
+        teacherRepository.save(staying);
+
+        UUID unknown = UUID.randomUUID();
+        List<UUID> requested = new ArrayList<>(ids);
+        requested.add(unknown);
+
+        mockMvc.perform(delete(TEACHERS_URL)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(requested)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted").value(20))
+                .andExpect(jsonPath("$.outcomes['" + ids.get(0) + "']").value("DELETED"))
+                .andExpect(jsonPath("$.outcomes['" + unknown + "']").value("NOT_FOUND"));
+
+        assertThat(teacherRepository.findAll()).extracting(Teacher::getName).containsExactly("Staying");
+        assertThat(teacherRepository.findExistingIds(ids)).isEmpty();
+        assertThat(teacherRepository.findCourseIds(staying.getId())).containsExactly(math.getId());
+    }
+
     @Test
     void shouldDeleteTeacher() throws Exception {
         Teacher teacher = new Teacher();
@@ -136,4 +183,81 @@ public class TeachersControllerTests {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.items").isEmpty());
     }
+
+    @Test
+    void shouldScrollTeachersWithCursor() throws Exception {
+        for (String name : List.of("Carol", "Alice", "Bob")) {
+            Teacher teacher = new Teacher();
+            teacher.setName(name);
+            mockMvc.perform(post(TEACHERS_URL)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(teacher)))
+                    .andExpect(status().isOk());
+        }
+
+        String response = mockMvc.perform(get(TEACHERS_URL + "/scroll")
+                .param("pageSize", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].name").value("Alice"))
+                .andExpect(jsonPath("$.items[1].name").value("Bob"))
+                .andReturn().getResponse().getContentAsString();
+
+        String cursor = objectMapper.readTree(response).get("nextCursor").asText();
+
+        mockMvc.perform(get(TEACHERS_URL + "/scroll")
+                .param("pageSize", "2")
+                .param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].name").value("Carol"))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void shouldExportTeachersAsNdjson() throws Exception {
+        for (String name : List.of("Alice", "Bob", "Carol")) {
+            Teacher teacher = new Teacher();
+            teacher.setName(name);
+            mockMvc.perform(post(TEACHERS_URL)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(teacher)))
+                    .andExpect(status().isOk());
+        }
+
+        String body = mockMvc.perform(get(TEACHERS_URL + "/export"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        List<String> names = body.lines()
+                .map(line -> {
+                    try {
+                        return objectMapper.readValue(line, Teacher.class).getName();
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                })
+                .sorted()
+                .toList();
+        assertThat(names).containsExactly("Alice", "Bob", "Carol");
+    }
+
+    @Test
+    void shouldImportTeachersFromNdjson() throws Exception {
+        String body = """
+                {"name": "Alice", "age": 40, "group": "maths"}
+                not json
+                {"name": "Bob", "age": 45}
+                """;
+
+        mockMvc.perform(post(TEACHERS_URL + "/import")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(2));
+
+        assertThat(teacherRepository.count()).isEqualTo(2);
+    }
 }
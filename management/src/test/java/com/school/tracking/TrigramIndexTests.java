@@ -0,0 +1,28 @@
+package com.school.tracking;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.school.management.dto.NameMatch;
+import com.school.management.services.TrigramIndex;
+
+class TrigramIndexTests {
+
+    @Test
+    void shouldFindWholeWordMatchInsertedPastTheCandidateCap() {
+        TrigramIndex index = new TrigramIndex();
+        for (int i = 0; i < 12_000; i++) {
+            index.put(UUID.randomUUID(), "Ivanova " + i, null, null);
+        }
+        UUID ivan = UUID.randomUUID();
+        index.put(ivan, "Ivan Petrov", null, null);
+
+        assertThat(index.search("ivan", null, null, null, 5))
+                .extracting(NameMatch::id)
+                .first()
+                .isEqualTo(ivan);
+    }
+}